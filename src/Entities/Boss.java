@@ -3,13 +3,19 @@ package Entities;
 import Main.Game;
 import java.awt.*;
 import java.awt.geom.Rectangle2D;
-import static util.Helpmethods.*;
 import java.awt.image.BufferedImage;
+import levels.Level;
+import levels.SolidGrid;
+import util.AnimationClip;
+import util.ContactBuffer;
+import util.FixedPoint;
 import util.LoadSave;
+import util.SimClock;
+import util.StateHash;
+import util.TileCollider;
 import java.awt.geom.AffineTransform;
 import java.awt.image.AffineTransformOp;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.SplittableRandom;
 
 /**
  * Boss enemy with 5 hearts, faster movement, and projectile attacks.
@@ -20,18 +26,20 @@ import java.util.List;
  * - Patrols the arena when player is far
  * - Charges aggressively when player is close
  * - Jumps to reach platforms and dodge attacks
- * - Shoots projectiles at player
+ * - Fires scripted bullet patterns that get denser as it loses health
  */
 public class Boss extends Entity {
-    private int[][] levelData;
+    // Platforms are open for the flying boss; see Level.getBossSolidGrid()
+    private SolidGrid solidGrid;
+    private final TileCollider.Contact contact = new TileCollider.Contact();
 
     // Movement - faster than normal enemies (normal enemy speed is 0.5f)
     /** Speed multiplier for boss movement (faster than regular enemies) */
     private static final float BASE_SPEED_MULTIPLIER = 0.2f;
     private static final float CHARGE_SPEED_MULTIPLIER = 0.5f;
     private float xSpeed;
-    private float baseSpeed = BASE_SPEED_MULTIPLIER * Game.SCALE;
-    private float chargeSpeed = CHARGE_SPEED_MULTIPLIER * Game.SCALE;
+    private float baseSpeed = FixedPoint.snap(BASE_SPEED_MULTIPLIER * Game.SCALE);
+    private float chargeSpeed = FixedPoint.snap(CHARGE_SPEED_MULTIPLIER * Game.SCALE);
 
     // AI State machine
     private enum BossState {
@@ -71,12 +79,30 @@ public class Boss extends Entity {
     private int deathAnimationTick = 0;
     private float deathFadeAlpha = 1.0f;
 
-    // Attack system - projectiles
-    /** Cooldown between projectile shots (milliseconds) */
-    private static final long PROJECTILE_COOLDOWN_MS = 2500L;
-    private List<BossProjectile> projectiles = new ArrayList<>();
-    private long lastProjectileTime = 0;
-    private float projectileSpeed = 2.0f * Game.SCALE;
+    // Attack system - bullet patterns, one row per phase (timings in ticks)
+    private static final int T = SimClock.TICKS_PER_SECOND;
+    private static final BulletPattern[][] PATTERN_SCRIPT = {
+            // 5-4 hearts: single aimed shots and a slow ring
+            {
+                    BulletPattern.aimed(1, 0, 2.0f, 1, 1, T * 5 / 2),
+                    BulletPattern.ring(12, 1.2f, 1, 1, T * 2),
+            },
+            // 3-2 hearts: aimed fans, a four-arm spiral, staggered rings
+            {
+                    BulletPattern.aimed(3, 40, 2.0f, 3, T / 6, T * 3 / 2),
+                    BulletPattern.spiral(4, 24, 1.4f, 60, T / 30, T * 3 / 2),
+                    BulletPattern.ring(16, 1.2f, 3, T / 3, T * 3 / 2),
+            },
+            // Last heart: everything at once
+            {
+                    BulletPattern.spiral(6, 18, 1.6f, 120, T / 50, T),
+                    BulletPattern.aimed(5, 32, 2.2f, 4, T / 8, T),
+                    BulletPattern.ring(24, 1.0f, 4, T / 4, T * 5 / 4),
+            },
+    };
+    private static final int MAX_BULLETS = 4096;
+    private final BulletStore bullets;
+    private final BulletEmitter emitter = new BulletEmitter(PATTERN_SCRIPT, T);
 
     // Visual size for boss (larger than regular enemies)
     private static final int VISUAL_W = (int) (80f * Game.SCALE);
@@ -104,9 +130,19 @@ public class Boss extends Entity {
     private int minFlyY;
     private int maxFlyY;
 
-    public Boss(float x, float y, int w, int h, int[][] levelData) {
+    // Fire chance, attack timing and fly targets
+    private final SplittableRandom rng;
+
+    public Boss(float x, float y, int w, int h, Level level, SplittableRandom rng) {
+        this(x, y, w, h, level, rng, MAX_BULLETS);
+    }
+
+    /** Boss with room for {@code maxBullets} bullets in flight. */
+    public Boss(float x, float y, int w, int h, Level level, SplittableRandom rng, int maxBullets) {
         super(x, y, w, h);
-        this.levelData = levelData;
+        this.rng = rng;
+        this.bullets = new BulletStore(maxBullets);
+        this.solidGrid = level.getBossSolidGrid();
         // Boss has a larger hitbox
         initHitBox(x, y, w - (int)(10*Game.SCALE), h - (int)(10*Game.SCALE));
 
@@ -120,7 +156,6 @@ public class Boss extends Entity {
         this.xSpeed = baseSpeed;
         patrollingRight = true;
         state = BossState.PATROL;
-        stateChangeTime = System.currentTimeMillis();
 
         // Load sprite
         loadSprite();
@@ -129,19 +164,28 @@ public class Boss extends Entity {
         minFlyY = Math.max(0, (Game.TILES_HEIGHT - 10) * Game.TILES_SIZE - (int) this.hitBox.height); // not too high
 
         flyTargetY = hitBox.y;
-        nextFlyTargetChangeMs = System.currentTimeMillis() + 800;
+        start();
+    }
 
-        nextAllowedAttackMs = System.currentTimeMillis() + 2000;
+    /**
+     * Starts the boss's timers from the current tick. A boss built ahead of time (e.g. by
+     * the level preloader) is started again when it enters the game.
+     */
+    public void start() {
+        stateChangeTime = SimClock.millis();
+        nextFlyTargetChangeMs = SimClock.millis() + 800;
+        nextAllowedAttackMs = SimClock.millis() + 2000;
     }
 
-    private BufferedImage[] idleFrames, attackFrames, flyingFrames, hurtFrames, deathFrames;
-    private BufferedImage[] idleFramesM, attackFramesM, flyingFramesM, hurtFramesM, deathFramesM;
+    // Shared by every boss; loaded once, possibly ahead of time by preloadAssets()
+    private static BufferedImage[] idleFrames, attackFrames, flyingFrames, hurtFrames, deathFrames;
+    private static BufferedImage[] idleFramesM, attackFramesM, flyingFramesM, hurtFramesM, deathFramesM;
 
 
     private static final int FRAME_W = 64;
     private static final int FRAME_H = 64;
 
-    private BufferedImage[] loadFramesFromSheet(String path, int frames) {
+    private static BufferedImage[] loadFramesFromSheet(String path, int frames) {
         BufferedImage sheet = LoadSave.getAtlas(path);
         if (sheet == null) return new BufferedImage[0];
 
@@ -166,7 +210,7 @@ public class Boss extends Entity {
 
 
 
-    private BufferedImage flip(BufferedImage img) {
+    private static BufferedImage flip(BufferedImage img) {
         BufferedImage out = new BufferedImage(img.getWidth(), img.getHeight(), BufferedImage.TYPE_INT_ARGB);
         AffineTransform tx = new AffineTransform();
         tx.scale(-1, 1);
@@ -175,13 +219,23 @@ public class Boss extends Entity {
         return out;
     }
 
-    private BufferedImage[] mirrorFrames(BufferedImage[] src) {
+    private static BufferedImage[] mirrorFrames(BufferedImage[] src) {
         BufferedImage[] out = new BufferedImage[src.length];
         for (int i = 0; i < src.length; i++) out[i] = flip(src[i]);
         return out;
     }
 
-    private void loadSprite() {
+    /**
+     * Decodes the boss sprite sheets and bullet frames if that hasn't happened yet. Called
+     * from the level preloader so entering the arena doesn't decode images on the game thread.
+     */
+    public static void preloadAssets() {
+        loadSprite();
+        BulletStore.loadFrames();
+    }
+
+    private static synchronized void loadSprite() {
+        if (idleFrames != null) return;
         idleFrames   = loadFramesFromSheet(LoadSave.BOSS_IDLE, 4);
         flyingFrames = loadFramesFromSheet(LoadSave.BOSS_FLYING, 4);
         attackFrames = loadFramesFromSheet(LoadSave.BOSS_ATTACK, 8);
@@ -213,22 +267,27 @@ public class Boss extends Entity {
 
         if (frames == null || frames.length == 0) return null;
 
-        int idx = animIndex % frames.length;
+        int idx = clipForState().frame(animStart) % frames.length;
         if (facingLeft && framesM != null && framesM.length > idx) return framesM[idx];
         return frames[idx];
     }
 
 
-    private int animTick = 0;
-    private int animIndex = 0;
-    private int animSpeed = 8;
+    // 8 ticks per frame; frame counts match loadSprite(). Death plays once and holds its last frame
+    private static final AnimationClip IDLE_CLIP = new AnimationClip(4, 8, true);
+    private static final AnimationClip FLYING_CLIP = new AnimationClip(4, 8, true);
+    private static final AnimationClip ATTACK_CLIP = new AnimationClip(8, 8, true);
+    private static final AnimationClip DEATH_CLIP = new AnimationClip(7, 8, false);
+    // Tick the current state's animation started
+    private long animStart = 0;
 
-    private void advanceAnimation() {
-        animTick++;
-        if (animTick >= animSpeed) {
-            animTick = 0;
-            animIndex++;
-        }
+    private AnimationClip clipForState() {
+        if (dying) return DEATH_CLIP;
+        return switch (state) {
+            case ATTACK -> ATTACK_CLIP;
+            case CHASE, RETREAT -> FLYING_CLIP;
+            default -> IDLE_CLIP;
+        };
     }
 
 
@@ -258,8 +317,7 @@ public class Boss extends Entity {
         updateAIState();
 
         if (state != prevState) {
-            animIndex = 0;
-            animTick = 0;
+            animStart = SimClock.ticks();
             prevState = state;
         }
 
@@ -271,21 +329,19 @@ public class Boss extends Entity {
             case RETREAT -> executeRetreat();
         }
 
+        // Scaled speeds (charge, retreat bounce) go back on the sub-pixel lattice before moving
+        xSpeed = FixedPoint.snap(xSpeed);
+
         // Apply horizontal movement
         applyMovement();
 
         applyFlyingVerticalMovement();
+        snapHitBox();
 
-        // Shoot projectiles at player
-        shootAtPlayer();
-
-        // Update projectiles
-        for (BossProjectile  p : projectiles) {
-            p.update();
-        }
-        projectiles.removeIf(p -> !p.isActive());
+        // Fire this tick's volley, then move every bullet in one pass
+        firePatterns();
+        bullets.update(solidGrid);
 
-        advanceAnimation();
     }
 
     /**
@@ -301,7 +357,7 @@ public class Boss extends Entity {
         float bossCenterX = hitBox.x + hitBox.width / 2;
         float distance = Math.abs(playerCenterX - bossCenterX);
 
-        long now = System.currentTimeMillis();
+        long now = SimClock.millis();
         long timeInState = now - stateChangeTime;
 
         // State transitions
@@ -315,11 +371,11 @@ public class Boss extends Entity {
             }
             case CHASE -> {
                 if (distance < 130 * Game.SCALE && timeInState > 800 && now >= nextAllowedAttackMs) {
-                    if (Math.random() < 0.20) {
+                    if (rng.nextDouble() < 0.20) {
                         state = BossState.ATTACK;
                         stateChangeTime = now;
 
-                        nextAllowedAttackMs = now + 3000 + (long)(Math.random() * 2000);
+                        nextAllowedAttackMs = now + 3000 + rng.nextLong(2000);
                     }
                 }
 
@@ -428,11 +484,9 @@ public class Boss extends Entity {
      */
     private void applyMovement() {
         // Apply xSpeed with collision
-        if (bossCanMoveHere(hitBox.x + xSpeed, hitBox.y, hitBox.width, hitBox.height)) {
-            hitBox.x += xSpeed;
-        } else {
+        if (TileCollider.moveX(hitBox, xSpeed, solidGrid, contact)) {
             if (state == BossState.PATROL) patrollingRight = !patrollingRight;
-            xSpeed = -xSpeed * 0.5f;
+            xSpeed = FixedPoint.snap(-xSpeed * 0.5f);
         }
 
         // Clamp to patrol bounds
@@ -446,105 +500,56 @@ public class Boss extends Entity {
         }
     }
 
-    private void shootAtPlayer() {
+    private void firePatterns() {
         if (playerHitBox == null || dying) return;
 
-        long now = System.currentTimeMillis();
-
-        if (Math.random() > 0.25) return;
-
-        if (now - lastProjectileTime > PROJECTILE_COOLDOWN_MS) {
-            // Calculate direction to player
-            float playerCenterX = playerHitBox.x + playerHitBox.width / 2;
-            float playerCenterY = playerHitBox.y + playerHitBox.height / 2;
-            float bossCenterX = hitBox.x + hitBox.width / 2;
-            float bossCenterY = hitBox.y + hitBox.height / 2;
-
-            float dx = playerCenterX - bossCenterX;
-            float dy = playerCenterY - bossCenterY;
-            float distance = (float) Math.sqrt(dx * dx + dy * dy);
-
-            if (distance > 0) {
-                // Normalize and apply speed
-                float dirX = (dx / distance) * projectileSpeed;
-                float dirY = (dy / distance) * projectileSpeed;
-
-                // Create projectile
-                projectiles.add(new BossProjectile(bossCenterX, bossCenterY, dirX, dirY));
-                lastProjectileTime = now;
+        // Phase 0 at full health, the last phase on the last heart
+        int phase = Math.min(emitter.phaseCount() - 1, (maxHealth - health) * emitter.phaseCount() / maxHealth);
+        float bossCenterX = hitBox.x + hitBox.width / 2;
+        float bossCenterY = hitBox.y + hitBox.height / 2;
+        float playerCenterX = playerHitBox.x + playerHitBox.width / 2;
+        float playerCenterY = playerHitBox.y + playerHitBox.height / 2;
 
-                // Play attack sound
-                util.SoundManager.play(util.SoundManager.SoundEffect.BOSS_ATTACK);
-            }
+        // One attack cue per pattern, not per volley (a spiral fires dozens a second)
+        if (emitter.update(phase, bossCenterX, bossCenterY, playerCenterX, playerCenterY, bullets)) {
+            util.GameEvents.publish(util.GameEvents.Type.BOSS_ATTACK);
         }
     }
 
     private void applyFlyingVerticalMovement() {
         if (playerHitBox == null || dying) return;
 
-        long now = System.currentTimeMillis();
+        long now = SimClock.millis();
 
         if (now >= nextFlyTargetChangeMs) {
             float base = playerHitBox.y;
 
-            float randomOffset = (float)((Math.random() * 160) - 80); // [-80..+80] px
+            float randomOffset = (float)((rng.nextDouble() * 160) - 80); // [-80..+80] px
             flyTargetY = base + randomOffset;
 
-            flyTargetY = Math.max(minFlyY, Math.min(flyTargetY, maxFlyY));
+            flyTargetY = FixedPoint.snap(Math.max(minFlyY, Math.min(flyTargetY, maxFlyY)));
 
-            nextFlyTargetChangeMs = now + 800 + (long)(Math.random() * 700);
+            nextFlyTargetChangeMs = now + 800 + rng.nextLong(700);
         }
 
         float diff = flyTargetY - hitBox.y;
 
         float smoothing = 0.04f;
-        float maxSpeed = 1.5f * Game.SCALE;
+        float maxSpeed = FixedPoint.snap(1.5f * Game.SCALE);
 
-        float desiredYSpeed = diff * smoothing;
+        float desiredYSpeed = FixedPoint.snap(diff * smoothing);
 
         if (desiredYSpeed > maxSpeed) desiredYSpeed = maxSpeed;
         if (desiredYSpeed < -maxSpeed) desiredYSpeed = -maxSpeed;
 
-        if (bossCanMoveHere(hitBox.x, hitBox.y + desiredYSpeed, hitBox.width, hitBox.height)) {
-            hitBox.y += desiredYSpeed;
-            ySpeed = desiredYSpeed;
-        } else {
+        if (TileCollider.moveY(hitBox, desiredYSpeed, solidGrid, contact)) {
             ySpeed = 0;
+        } else {
+            ySpeed = desiredYSpeed;
         }
     }
 
 
-    private boolean bossCanMoveHere(float x, float y, float width, float height) {
-        return !bossIsSolid(x, y) &&
-                !bossIsSolid(x + width, y) &&
-                !bossIsSolid(x, y + height) &&
-                !bossIsSolid(x + width, y + height) &&
-                !bossIsSolid(x, y + height / 2f) &&
-                !bossIsSolid(x + width, y + height / 2f);
-    }
-
-    private boolean bossIsSolid(float x, float y) {
-        if (x < 0) return true;
-        if (y < 0) return true;
-        if (y >= Game.GAME_HEIGHT) return false;
-
-        int xIndex = (int) (x / Game.TILES_SIZE);
-        int yIndex = (int) (y / Game.TILES_SIZE);
-
-        if (yIndex < 0 || yIndex >= levelData.length) return false;
-        if (xIndex < 0 || xIndex >= levelData[0].length) return true;
-
-        int value = levelData[yIndex][xIndex];
-
-        // IMPORTANT: PLATFORM должен быть НЕ solid для босса
-        if (value == util.LevelFactory.AIR) return false;
-        if (value == util.LevelFactory.PLATFORM) return false;
-
-        return true; // земля, стены, колонны — solid
-    }
-
-
-
     public void render(Graphics g, int cameraOffsetX) {
         int drawW = VISUAL_W;
         int drawH = VISUAL_H;
@@ -577,7 +582,7 @@ public class Boss extends Entity {
 
         BufferedImage frameToDraw = null;
         if (frames != null && frames.length > 0) {
-            int idx = animIndex % frames.length;
+            int idx = clipForState().frame(animStart) % frames.length;
             frameToDraw = facingLeft && framesM != null && framesM.length > idx
                     ? framesM[idx]
                     : frames[idx];
@@ -599,10 +604,8 @@ public class Boss extends Entity {
             g2d.setComposite(originalComposite);
         }
 
-        // projectiles
-        for (BossProjectile p : projectiles) {
-            p.render(g, cameraOffsetX);
-        }
+        // bullets
+        bullets.render(g, cameraOffsetX);
     }
 
 
@@ -695,7 +698,7 @@ public class Boss extends Entity {
         if (amount <= 0 || dying) return;
 
         // Check damage cooldown to prevent one-shot
-        long now = System.currentTimeMillis();
+        long now = SimClock.millis();
         if (now - lastDamageTakenMs < DAMAGE_COOLDOWN_MS) {
             return; // Still invulnerable from last hit
         }
@@ -708,12 +711,13 @@ public class Boss extends Entity {
         stateChangeTime = now;
 
         // Play damage sound
-        util.SoundManager.play(util.SoundManager.SoundEffect.BOSS_DAMAGE);
+        util.GameEvents.publish(util.GameEvents.Type.BOSS_DAMAGE);
 
         // Start death animation if boss dies
         if (health <= 0) {
             dying = true;
-            util.SoundManager.play(util.SoundManager.SoundEffect.BOSS_DEATH);
+            animStart = SimClock.ticks();
+            util.GameEvents.publish(util.GameEvents.Type.BOSS_DEATH);
         }
     }
 
@@ -733,23 +737,34 @@ public class Boss extends Entity {
         return maxHealth;
     }
 
-    public List<BossProjectile> getProjectiles() {
-        return projectiles;
+    public BulletStore getBullets() {
+        return bullets;
+    }
+
+    @Override
+    public void hashState(StateHash h) {
+        super.hashState(h);
+        h.add(xSpeed).add(ySpeed).add(flyTargetY).add(health).add(dying).add(state.ordinal());
+        bullets.hashState(h);
     }
 
     /**
-     * Check if any of the boss's projectiles hit the player.
-     * Returns damage dealt.
+     * Contact source for the collision stage: one event per boss bullet touching the probe.
      */
-    public int checkProjectilePlayerCollision(Rectangle2D.Float playerHB) {
-        int damage = 0;
-        for (BossProjectile  p : projectiles) {
-            if (p.isActive() && p.getHitBox().intersects(playerHB)) {
-                damage += p.getDamage();
-                p.deactivate();
-            }
+    public void collectProjectileContacts(Rectangle2D.Float probe, int type, ContactBuffer out) {
+        bullets.collectContacts(probe, type, out);
+    }
+
+    /** Contact source for the collision stage: the boss body, unless it is dying. */
+    public void collectBodyContacts(Rectangle2D.Float probe, int type, ContactBuffer out) {
+        if (!dying && hitBox.overlaps(probe)) {
+            out.add(type, 0);
         }
-        return damage;
+    }
+
+    /** Deactivates a projectile that hit the player and returns its damage. */
+    public int consumeProjectile(int index) {
+        return bullets.consume(index);
     }
 
     /**
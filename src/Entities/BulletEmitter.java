@@ -0,0 +1,85 @@
+package Entities;
+
+/**
+ * Runs a per-phase script of {@link BulletPattern}s and fires the volleys into a
+ * {@link BulletStore}.
+ *
+ * Within a phase the patterns are played in script order and loop. When the phase
+ * changes the pattern in progress finishes first, then the new phase starts from its
+ * first pattern.
+ */
+class BulletEmitter {
+    private final BulletPattern[][] script;
+    private int phase = -1;
+    private int next = 0;
+
+    private BulletPattern current;
+    private int volley;
+    // Ticks until the next volley (or the next pattern)
+    private int wait;
+    // Start angle of the next ring/spiral volley
+    private int spin;
+
+    /** {@code script[phase]} lists the patterns of each phase; {@code delay} is the wait before the first volley. */
+    BulletEmitter(BulletPattern[][] script, int delay) {
+        this.script = script;
+        this.wait = delay;
+    }
+
+    int phaseCount() {
+        return script.length;
+    }
+
+    /**
+     * Advances the script by one tick, firing from (cx, cy) at a target at (tx, ty).
+     * Returns true when a pattern starts (its first volley fired this tick), so callers can
+     * cue the attack once per pattern rather than once per volley.
+     */
+    boolean update(int phase, float cx, float cy, float tx, float ty, BulletStore out) {
+        if (phase != this.phase) {
+            this.phase = phase;
+            next = 0;
+        }
+        if (wait > 0) {
+            wait--;
+            return false;
+        }
+
+        boolean started = current == null;
+        if (started) {
+            BulletPattern[] patterns = script[phase];
+            current = patterns[next];
+            next = (next + 1) % patterns.length;
+            volley = 0;
+            spin = 0;
+        }
+
+        fireVolley(current, cx, cy, tx, ty, out);
+
+        if (++volley >= current.volleys) {
+            wait = current.cooldown;
+            current = null;
+        } else {
+            wait = current.interval - 1;
+        }
+        return started;
+    }
+
+    private void fireVolley(BulletPattern p, float cx, float cy, float tx, float ty, BulletStore out) {
+        switch (p.kind) {
+            case RING, SPIRAL -> {
+                for (int k = 0; k < p.count; k++) {
+                    out.fire(cx, cy, spin + k * BulletStore.ANGLES / p.count, p.speed);
+                }
+                spin += p.turn;
+            }
+            case AIMED -> {
+                int aim = BulletStore.toAngle(StrictMath.atan2(ty - cy, tx - cx));
+                int first = aim - p.spread * (p.count - 1) / 2;
+                for (int k = 0; k < p.count; k++) {
+                    out.fire(cx, cy, first + k * p.spread, p.speed);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package Entities;
+
+import Main.Game;
+import util.FixedPoint;
+
+/**
+ * Immutable description of one boss bullet pattern: what a volley looks like, how many
+ * volleys are fired and how far apart, and how long the emitter rests afterwards.
+ *
+ * Angles are in {@link BulletStore#ANGLES} units per full turn. All timings are in
+ * simulation ticks.
+ */
+public final class BulletPattern {
+    public enum Kind {
+        /** {@code count} bullets spread evenly around the emitter. */
+        RING,
+        /** A ring whose start angle advances by {@code turn} every volley. */
+        SPIRAL,
+        /** A fan of {@code count} bullets centred on the player, {@code spread} apart. */
+        AIMED
+    }
+
+    final Kind kind;
+    final int count;
+    final int spread;
+    final int turn;
+    final float speed;
+    final int volleys;
+    final int interval;
+    final int cooldown;
+
+    private BulletPattern(Kind kind, int count, int spread, int turn, float speed,
+                          int volleys, int interval, int cooldown) {
+        this.kind = kind;
+        this.count = Math.max(1, count);
+        this.spread = spread;
+        this.turn = turn;
+        this.speed = FixedPoint.snap(speed * Game.SCALE);
+        this.volleys = Math.max(1, volleys);
+        this.interval = Math.max(1, interval);
+        this.cooldown = Math.max(0, cooldown);
+    }
+
+    /** {@code volleys} rings of {@code count} bullets; every other ring is offset by half a step. */
+    public static BulletPattern ring(int count, float speed, int volleys, int interval, int cooldown) {
+        int halfStep = BulletStore.ANGLES / Math.max(1, count) / 2;
+        return new BulletPattern(Kind.RING, count, 0, halfStep, speed, volleys, interval, cooldown);
+    }
+
+    /** {@code arms} streams rotating by {@code turn} per volley. */
+    public static BulletPattern spiral(int arms, int turn, float speed, int volleys, int interval, int cooldown) {
+        return new BulletPattern(Kind.SPIRAL, arms, 0, turn, speed, volleys, interval, cooldown);
+    }
+
+    /** {@code volleys} fans of {@code count} bullets aimed at the player. */
+    public static BulletPattern aimed(int count, int spread, float speed, int volleys, int interval, int cooldown) {
+        return new BulletPattern(Kind.AIMED, count, spread, 0, speed, volleys, interval, cooldown);
+    }
+}
@@ -0,0 +1,232 @@
+package Entities;
+
+import Main.Game;
+import levels.SolidGrid;
+import util.ContactBuffer;
+import util.FixedPoint;
+import util.StateHash;
+
+import java.awt.*;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+/**
+ * Fixed-capacity structure-of-arrays storage for boss bullets.
+ *
+ * Bullets are points (their centre) plus a shared size, so one update is a tight
+ * integration pass over the position and velocity arrays followed by a compaction pass
+ * that drops bullets that hit a tile, left the level or were consumed. Survivors keep
+ * their firing order and their index is the id handed to contact queries, valid until
+ * the next {@link #update}. When the store is full further bullets are dropped.
+ *
+ * After each update the live bullets are bucketed into vertical bands of
+ * {@link #BAND_TILES} tiles, so a contact query only tests the bullets in the bands the
+ * probe overlaps.
+ */
+public class BulletStore {
+    /** Binary angle units per full turn. */
+    public static final int ANGLES = 1024;
+    public static final int SIZE = (int) (12 * Game.SCALE);
+    static final int DAMAGE = 1;
+    private static final int BAND_TILES = 2;
+    private static final int BAND_SIZE = Game.TILES_SIZE * BAND_TILES;
+    private static final int CONSUMED = -1;
+
+    // Direction table built with StrictMath so aim is identical on every JVM and JIT tier
+    private static final float[] COS = new float[ANGLES];
+    private static final float[] SIN = new float[ANGLES];
+    static {
+        for (int a = 0; a < ANGLES; a++) {
+            double rad = 2 * Math.PI * a / ANGLES;
+            COS[a] = (float) StrictMath.cos(rad);
+            SIN[a] = (float) StrictMath.sin(rad);
+        }
+    }
+
+    // Pre-rendered pulse frames; drawn with one drawImage per bullet
+    private static final int PULSE_FRAMES = 32;
+    private static volatile BufferedImage[] frames;
+
+    private final float[] x, y, vx, vy;
+    // Ticks since firing, or CONSUMED once the bullet hit the player
+    private final int[] age;
+    private int count = 0;
+
+    // Live bullets grouped by band: bullets of band b are byBand[bandStart[b] .. bandStart[b + 1])
+    private int[] bandStart = new int[1];
+    private final int[] byBand;
+
+    public BulletStore(int capacity) {
+        x = new float[capacity];
+        y = new float[capacity];
+        vx = new float[capacity];
+        vy = new float[capacity];
+        age = new int[capacity];
+        byBand = new int[capacity];
+    }
+
+    /** Converts an angle in radians to {@link #ANGLES} units. */
+    public static int toAngle(double radians) {
+        return (int) Math.round(radians * ANGLES / (2 * Math.PI)) & (ANGLES - 1);
+    }
+
+    /**
+     * Fires a bullet centred on (cx, cy) along the given angle. Returns false when the store
+     * is full.
+     */
+    public boolean fire(float cx, float cy, int angle, float speed) {
+        if (count == x.length) return false;
+        int a = angle & (ANGLES - 1);
+        int i = count++;
+        x[i] = FixedPoint.snap(cx);
+        y[i] = FixedPoint.snap(cy);
+        vx[i] = FixedPoint.snap(COS[a] * speed);
+        vy[i] = FixedPoint.snap(SIN[a] * speed);
+        age[i] = 0;
+        return true;
+    }
+
+    /**
+     * Moves every bullet, then drops the spent ones. A bullet dies when its centre enters a
+     * solid tile or leaves the level.
+     */
+    public void update(SolidGrid grid) {
+        int n = count;
+        float[] x = this.x, y = this.y, vx = this.vx, vy = this.vy;
+        for (int i = 0; i < n; i++) {
+            x[i] += vx[i];
+            y[i] += vy[i];
+        }
+
+        float maxX = grid.getWidth() * Game.TILES_SIZE;
+        float maxY = grid.getHeight() * Game.TILES_SIZE;
+        int kept = 0;
+        for (int i = 0; i < n; i++) {
+            if (age[i] == CONSUMED) continue;
+            float bx = x[i], by = y[i];
+            if (bx < 0 || bx >= maxX || by < 0 || by >= maxY) continue;
+            if (grid.isSolid((int) (bx / Game.TILES_SIZE), (int) (by / Game.TILES_SIZE))) continue;
+            x[kept] = bx;
+            y[kept] = by;
+            vx[kept] = vx[i];
+            vy[kept] = vy[i];
+            age[kept] = age[i] + 1;
+            kept++;
+        }
+        count = kept;
+
+        buildBands((int) (maxX / BAND_SIZE) + 1);
+    }
+
+    // Counting sort of the live bullets by band
+    private void buildBands(int bands) {
+        if (bandStart.length != bands + 1) bandStart = new int[bands + 1];
+        int[] start = bandStart;
+        Arrays.fill(start, 0);
+        for (int i = 0; i < count; i++) start[band(x[i], bands) + 1]++;
+        for (int b = 0; b < bands; b++) start[b + 1] += start[b];
+        for (int i = 0; i < count; i++) byBand[start[band(x[i], bands)]++] = i;
+        // The scatter left start[b] at the start of band b + 1; shift back
+        for (int b = bands; b > 0; b--) start[b] = start[b - 1];
+        start[0] = 0;
+    }
+
+    private static int band(float px, int bands) {
+        return Math.min(bands - 1, Math.max(0, (int) (px / BAND_SIZE)));
+    }
+
+    /**
+     * Contact source for the collision stage: one event per live bullet touching the
+     * probe. Only the bands the probe spans are scanned.
+     */
+    public void collectContacts(Rectangle2D.Float probe, int type, ContactBuffer out) {
+        int bands = bandStart.length - 1;
+        float half = SIZE / 2f;
+        int b0 = band(probe.x - half, bands);
+        int b1 = band(probe.x + probe.width + half, bands);
+        for (int e = bandStart[b0], end = bandStart[b1 + 1]; e < end; e++) {
+            int i = byBand[e];
+            if (age[i] == CONSUMED) continue;
+            if (x[i] + half > probe.x && x[i] - half < probe.x + probe.width
+                    && y[i] + half > probe.y && y[i] - half < probe.y + probe.height) {
+                out.add(type, i);
+            }
+        }
+    }
+
+    /** Removes a bullet that hit the player and returns its damage (0 if already consumed). */
+    public int consume(int i) {
+        if (age[i] == CONSUMED) return 0;
+        age[i] = CONSUMED;
+        return DAMAGE;
+    }
+
+    public void clear() {
+        count = 0;
+        Arrays.fill(bandStart, 0);
+    }
+
+    /** Draws the bullets inside the camera view. */
+    public void render(Graphics g, int cameraOffsetX) {
+        BufferedImage[] pulse = loadFrames();
+        int n = count;
+        int pad = pulse[0].getWidth() / 2;
+        int viewRight = cameraOffsetX + Game.GAME_WIDTH;
+        for (int i = 0; i < n; i++) {
+            float bx = x[i];
+            int a = age[i];
+            if (a == CONSUMED || bx + pad < cameraOffsetX || bx - pad > viewRight) continue;
+            g.drawImage(pulse[a % PULSE_FRAMES], (int) bx - cameraOffsetX - pad, (int) y[i] - pad, null);
+        }
+    }
+
+    // Glowing orb with a pulse of +-20% over PULSE_FRAMES ticks
+    /** The pulse frames, built on first use. */
+    static BufferedImage[] loadFrames() {
+        BufferedImage[] f = frames;
+        if (f == null) frames = f = buildFrames();
+        return f;
+    }
+
+    private static BufferedImage[] buildFrames() {
+        int box = (int) Math.ceil(SIZE * 1.2f) + 8;
+        BufferedImage[] out = new BufferedImage[PULSE_FRAMES];
+        for (int f = 0; f < PULSE_FRAMES; f++) {
+            float pulse = 1.0f + 0.2f * (float) Math.sin(2 * Math.PI * f / PULSE_FRAMES);
+            int d = (int) (SIZE * pulse);
+            int o = (box - d) / 2;
+            BufferedImage img = new BufferedImage(box, box, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = img.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            // Outer glow
+            g.setColor(new Color(255, 120, 0, 90));
+            g.fillOval(o - 4, o - 4, d + 8, d + 8);
+            // Core
+            g.setColor(new Color(200, 50, 0));
+            g.fillOval(o, o, d, d);
+            // Inner bright core
+            g.setColor(new Color(255, 230, 120));
+            int inner = d / 2;
+            g.fillOval(o + inner / 2, o + inner / 2, inner, inner);
+            g.dispose();
+            out[f] = img;
+        }
+        return out;
+    }
+
+    public void hashState(StateHash h) {
+        h.add(count);
+        for (int i = 0; i < count; i++) {
+            h.add(x[i]).add(y[i]).add(vx[i]).add(vy[i]);
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int capacity() {
+        return x.length;
+    }
+}
@@ -1,29 +1,91 @@
 package Entities;
 
+import levels.SolidGrid;
+import util.ActivityRegion;
+import util.ContactBuffer;
+import util.SimClock;
+import util.SpatialGrid;
+import util.StateHash;
+import util.TileCollider;
+
 import java.awt.*;
 import java.awt.geom.Rectangle2D;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
+import java.util.SplittableRandom;
 public class EnemyManager {
-    private final List<Enemy> enemies = new ArrayList<>();
-    private final List<Projectile> projectiles = new ArrayList<>();
+    private final EnemyStore enemies = new EnemyStore();
+    private static final int MAX_PROJECTILES = 1024;
+    private final ProjectilePool<Projectile> projectiles =
+            new ProjectilePool<>(MAX_PROJECTILES, Projectile[]::new, Projectile::new);
+
+    // Tiles that stop projectiles; set by spawnForLevel
+    private SolidGrid solidGrid;
+    private final TileCollider.Contact shotContact = new TileCollider.Contact();
+
+    // Broad-phase grids, rebuilt at the end of every update. Projectile ids are pool
+    // positions; the enemy grid only holds awake enemies, mapped back through gridEnemy.
+    private final SpatialGrid enemyGrid = new SpatialGrid();
+    private int[] gridEnemy = new int[16];
+    private ActivityRegion activity = new ActivityRegion();
+    private final SpatialGrid projectileGrid = new SpatialGrid();
     
     // Projectile shooting cooldown
     private long lastProjectileTime = 0;
     private final long projectileCooldown = 2000; // 2 seconds between shots
 
-    public EnemyManager() { }
+    // Picks which enemy fires next
+    private final SplittableRandom rng;
+
+    public EnemyManager(SplittableRandom rng) {
+        this.rng = rng;
+    }
+
+    /** Enemies outside this region stay dormant until it reaches them. */
+    public void setActivityRegion(ActivityRegion activity) {
+        this.activity = activity;
+        enemies.setActivityRegion(activity);
+    }
 
     public void spawnForLevel(levels.Level level) {
-        enemies.clear();
+        solidGrid = level.getSolidGrid();
+        enemies.reset(solidGrid);
 
-        int[][] data = level.getLevelData();
+        levels.SurfaceMap surfaces = level.getSurfaceMap();
         int levelWidth = level.getLevelWidth();
 
         // Match player's drawn size so enemies visually match player
         int h = (int)(46.25f * Main.Game.SCALE);
         int w = (int)(62.5f * Main.Game.SCALE);
 
+        // Levels loaded from a file carry their own spawn points
+        levels.SpawnTable spawns = level.getSpawns();
+        if (spawns.count(levels.SpawnTable.ENEMY) > 0) {
+            for (int i = 0; i < spawns.size(); i++) {
+                if (spawns.type(i) != levels.SpawnTable.ENEMY) continue;
+                int yPixel = groundYPixel(spawns.tileY(i));
+                enemies.add(spawns.tileX(i) * Main.Game.TILES_SIZE, yPixel - h, w, h, spawns.variant(i));
+            }
+            rebuildGrids();
+            return;
+        }
+
+        int[] xTiles = spawnColumns(levelWidth);
+        for (int i = 0; i < xTiles.length; i++) {
+            int xt = xTiles[i];
+            if (xt >= levelWidth) continue; // Safety check
+            
+            int yPixel = groundYPixel(spawnRow(surfaces, xt));
+            int variant = i % 2; // alternate between enemy1 and enemy2
+            enemies.add(xt * Main.Game.TILES_SIZE, yPixel - h, w, h, variant);
+        }
+        rebuildGrids();
+    }
+
+    /**
+     * Hand-placed enemy columns for the built-in levels, chosen by level width. The i-th
+     * enemy uses variant {@code i % 2}.
+     */
+    public static int[] spawnColumns(int levelWidth) {
         // Determine spawn positions based on level width and difficulty
         // Ordered by level progression for clarity
         int[] xTiles;
@@ -44,139 +106,165 @@ public class EnemyManager {
             // Level 5 (70 tiles): 7 enemies, final challenge with more combat
             xTiles = new int[]{8, 20, 28, 38, 48, 58, 66};
         }
-        
-        for (int i = 0; i < xTiles.length; i++) {
-            int xt = xTiles[i];
-            if (xt >= levelWidth) continue; // Safety check
-            
-            int yPixel = groundYPixel(data, xt);
-            int variant = i % 2; // alternate between enemy1 and enemy2
-            enemies.add(new Enemy(xt * Main.Game.TILES_SIZE, yPixel - h, w, h, variant, data));
-        }
+        return xTiles;
     }
 
-    private int groundYPixel(int[][] data, int xTile) {
-        // Safety check for empty data
-        if (data == null || data.length == 0 || data[0].length == 0) {
-            return (int)(Main.Game.GAME_HEIGHT * 0.5f);
+    /**
+     * Replaces the enemies with {@code count} enemies standing on random columns of the
+     * level, instead of the hand-placed tables of {@link #spawnForLevel}.
+     */
+    public void spawnRandom(levels.Level level, int count) {
+        solidGrid = level.getSolidGrid();
+        enemies.reset(solidGrid);
+
+        levels.SurfaceMap surfaces = level.getSurfaceMap();
+        int levelWidth = level.getLevelWidth();
+        int h = (int)(46.25f * Main.Game.SCALE);
+        int w = (int)(62.5f * Main.Game.SCALE);
+
+        // Keep clear of the outer columns so nobody spawns inside a wall
+        for (int i = 0; i < count && levelWidth > 4; i++) {
+            int xt = 2 + rng.nextInt(levelWidth - 4);
+            enemies.add(xt * Main.Game.TILES_SIZE, groundYPixel(spawnRow(surfaces, xt)) - h, w, h, i % 2);
         }
-        
-        // Start from bottom and find first solid tile
-        for (int y = Main.Game.TILES_HEIGHT - 1; y >= 0; y--) {
-            if (xTile < 0 || xTile >= data[0].length) continue;
-            int idx = data[y][xTile];
-            boolean solid = (idx != 11);
-            if (solid) {
-                // Found solid ground - check if there's space above for enemy
-                // Need at least 2 tiles of air above for enemy to spawn
-                int tilesAbove = 0;
-                for (int checkY = y - 1; checkY >= 0 && checkY > y - 3; checkY--) {
-                    if (data[checkY][xTile] == 11) {
-                        tilesAbove++;
-                    } else {
-                        break;
-                    }
-                }
-                
-                // If enough space above, this is a good spawn point
-                if (tilesAbove >= 2) {
-                    return y * Main.Game.TILES_SIZE;
-                }
-            }
+        rebuildGrids();
+    }
+
+    /**
+     * Row an enemy spawned in this column stands on: the lowest surface with at least 2
+     * tiles of air above for the enemy to stand in, or {@link levels.SurfaceMap#NONE}.
+     */
+    public static int spawnRow(levels.SurfaceMap surfaces, int xTile) {
+        return surfaces.lowestSurface(xTile, 2);
+    }
+
+    private int groundYPixel(int row) {
+        if (row != levels.SurfaceMap.NONE) {
+            return row * Main.Game.TILES_SIZE;
         }
         // Fallback to middle of screen if no good position found
         return (int)(Main.Game.GAME_HEIGHT * 0.5f);
     }
 
+    public int size() {
+        return enemies.size();
+    }
+
     public void update() {
-        for (Enemy e : enemies) e.update();
-        
-        // Remove dead enemies (after death animation completes)
-        enemies.removeIf(Enemy::isDead);
+        // Also removes dead enemies (after death animation completes)
+        enemies.update();
         
         // Shoot projectiles periodically from random ALIVE enemies
-        long now = System.currentTimeMillis();
-        if (now - lastProjectileTime > projectileCooldown && !enemies.isEmpty()) {
-            // Filter to only alive (not dying) enemies
-            List<Enemy> aliveEnemies = new ArrayList<>();
-            for (Enemy e : enemies) {
-                if (!e.isDying()) {
-                    aliveEnemies.add(e);
-                }
+        long now = SimClock.millis();
+        if (now - lastProjectileTime > projectileCooldown && enemies.size() > 0) {
+            // Count only alive (not dying) enemies
+            int aliveCount = 0;
+            for (int i = 0; i < enemies.size(); i++) {
+                if (!enemies.isDying(i)) aliveCount++;
             }
             
-            if (!aliveEnemies.isEmpty()) {
+            if (aliveCount > 0) {
                 // Pick a random alive enemy to shoot
-                int randomIndex = (int)(Math.random() * aliveEnemies.size());
-                Enemy shooter = aliveEnemies.get(randomIndex);
-                Rectangle2D.Float shooterHB = shooter.getHitBox();
+                int randomIndex = rng.nextInt(aliveCount);
+                int shooter = nthAlive(randomIndex);
                 
                 // Create projectile moving away from enemy
-                float projectileX = shooterHB.x + shooterHB.width / 2;
-                float projectileY = shooterHB.y + shooterHB.height / 2;
+                float projectileX = enemies.getX(shooter) + enemies.getWidth(shooter) / 2;
+                float projectileY = enemies.getY(shooter) + enemies.getHeight(shooter) / 2;
                 float projectileSpeed = 2.0f * Main.Game.SCALE;
                 
                 // Shoot in a direction (could be toward player, but for simplicity shoot right for now)
-                projectiles.add(new Projectile(projectileX, projectileY, projectileSpeed));
+                Projectile p = projectiles.obtain();
+                if (p != null) p.reset(projectileX, projectileY, projectileSpeed);
                 lastProjectileTime = now;
             }
         }
         
-        // Update projectiles
-        for (Projectile p : projectiles) p.update();
-        
-        // Remove inactive projectiles
-        projectiles.removeIf(p -> !p.isActive());
-    }
+        // Update projectiles; spent ones go back to the pool
+        projectiles.update(solidGrid, shotContact);
 
-    public void draw(Graphics g, int cameraOffsetX) {
-        for (Enemy e : enemies) e.render(g, cameraOffsetX);
-        for (Projectile p : projectiles) p.render(g, cameraOffsetX);
+        rebuildGrids();
     }
 
-    // simple contact check to damage player
-    public boolean collidesWithPlayer(Rectangle2D.Float playerHB) {
-        Rectangle playerRect = new Rectangle((int)playerHB.x, (int)playerHB.y, (int)playerHB.width, (int)playerHB.height);
-        for (Enemy e : enemies) {
-            // Don't collide with dying enemies
-            if (e.isDying()) continue;
-            
-            Rectangle2D.Float hb = e.getHitBox();
-            Rectangle enemyRect = new Rectangle((int)hb.x, (int)hb.y, (int)hb.width, (int)hb.height);
-            if (playerRect.intersects(enemyRect)) return true;
+    private int nthAlive(int n) {
+        for (int i = 0; i < enemies.size(); i++) {
+            if (!enemies.isDying(i) && n-- == 0) return i;
         }
-        return false;
+        return -1;
     }
-    
-    // Check if player's attack hitbox hits any enemy
-    public void checkPlayerAttackCollision(Rectangle2D.Float attackHitbox) {
-        if (attackHitbox == null) return;
-        
-        // Direct float-based collision detection without creating Rectangle objects
-        for (Enemy e : enemies) {
-            // Don't hit enemies that are already dying
-            if (e.isDying()) continue;
-            
-            Rectangle2D.Float hb = e.getHitBox();
-            // Check if rectangles intersect
-            if (attackHitbox.intersects(hb)) {
-                e.takeDamage(1);
-            }
+
+    private void rebuildGrids() {
+        // The player is always inside the activity region, so dormant enemies can't be touched
+        enemyGrid.clear();
+        for (int i = 0; i < enemies.size(); i++) {
+            float x = enemies.getX(i), w = enemies.getWidth(i);
+            if (!activity.contains(x, w)) continue;
+            int id = enemyGrid.insert(x, enemies.getY(i), w, enemies.getHeight(i));
+            if (id == gridEnemy.length) gridEnemy = Arrays.copyOf(gridEnemy, id * 2);
+            gridEnemy[id] = i;
+        }
+        enemyGrid.build();
+
+        projectileGrid.clear();
+        for (int i = 0; i < projectiles.size(); i++) {
+            Rectangle2D.Float hb = projectiles.get(i).getHitBox();
+            projectileGrid.insert(hb.x, hb.y, hb.width, hb.height);
         }
+        projectileGrid.build();
     }
-    
+
+    public void draw(Graphics g, int cameraOffsetX) {
+        enemies.render(g, cameraOffsetX);
+        projectiles.render(g, cameraOffsetX);
+    }
+
     /**
-     * Check if any projectiles hit the player.
-     * Returns damage dealt (1 per projectile hit).
+     * Contact source for the collision stage: one event per living enemy whose hitbox
+     * overlaps the probe (player body or attack box).
      */
-    public int checkProjectilePlayerCollision(Rectangle2D.Float playerHB) {
-        int damage = 0;
-        for (Projectile p : projectiles) {
-            if (p.isActive() && p.getHitBox().intersects(playerHB)) {
-                damage += p.getDamage();
-                p.deactivate();
+    public void collectEnemyContacts(Rectangle2D.Float probe, int type, ContactBuffer out) {
+        int n = enemyGrid.query(probe.x, probe.y, probe.width, probe.height);
+        for (int i = 0; i < n; i++) {
+            int e = gridEnemy[enemyGrid.result(i)];
+            // Dying enemies neither hurt nor can be hit
+            if (!enemies.isDying(e) && enemies.overlaps(e, probe)) {
+                out.add(type, e);
+            }
+        }
+    }
+
+    /** Contact source for the collision stage: one event per active projectile touching the probe. */
+    public void collectProjectileContacts(Rectangle2D.Float probe, int type, ContactBuffer out) {
+        int n = projectileGrid.query(probe.x, probe.y, probe.width, probe.height);
+        for (int i = 0; i < n; i++) {
+            int id = projectileGrid.result(i);
+            Projectile p = projectiles.get(id);
+            if (p.isActive() && p.getHitBox().overlaps(probe)) {
+                out.add(type, id);
             }
         }
-        return damage;
     }
-}
\ No newline at end of file
+
+    public void damageEnemy(int index, int amount) {
+        enemies.damage(index, amount);
+    }
+
+    /** Deactivates a projectile that hit the player and returns its damage. */
+    public int consumeProjectile(int index) {
+        Projectile p = projectiles.get(index);
+        if (!p.isActive()) return 0;
+        p.deactivate();
+        return p.getDamage();
+    }
+
+    public void hashState(StateHash h) {
+        enemies.hashState(h);
+        projectiles.hashState(h);
+    }
+
+    public void clear() {
+        enemies.clear();
+        projectiles.clear();
+        rebuildGrids();
+    }
+}
@@ -1,31 +1,25 @@
 package Entities;
 
 import Main.Game;
-import java.awt.*;
-import java.awt.geom.Rectangle2D;
-import static util.Helpmethods.*;
-import java.awt.image.BufferedImage;
+import util.AnimationClip;
 import util.LoadSave;
+
+import java.awt.*;
 import java.awt.geom.AffineTransform;
 import java.awt.image.AffineTransformOp;
+import java.awt.image.BufferedImage;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
-public class Enemy extends Entity {
-    private int[][] levelData;
 
-    // movement expressed as continuous xSpeed (sub-pixel)
-    private float xSpeed;
-    private float baseSpeed = 0.5f * Game.SCALE;
-    
-    // Health system
-    private int health = 1;
-    
-    // Death animation
-    private boolean dying = false;
-    private int deathAnimationTick = 0;
-    private final int deathAnimationDuration = 30; // ~0.5 seconds at 60 FPS
-    private float deathFadeAlpha = 1.0f; // For fade-out effect
+/**
+ * Shared sprite frames and drawing for regular enemies. The frames are loaded once and
+ * used by every enemy in the {@link EnemyStore}.
+ */
+class EnemySprites {
+    /** Length of the death fade/rotate animation (~0.5 seconds at 60 FPS). */
+    static final int DEATH_TICKS = 30;
+    private static final int ANIM_SPEED = 8; // ticks per frame
 
     // Animation frames per variant
     private static BufferedImage[][] enemyFrames; // [variant][frameIndex]
@@ -33,36 +27,20 @@ public class Enemy extends Entity {
     private static boolean triedLoadingImages = false;
     private static boolean imagesAvailable = false;
     private static boolean printedDebug = false;
-
-    // per-instance animation state
-    private int animIndex = 0;
-    private int animTick = 0;
-    private final int animSpeed = 8; // ticks per frame
-
-    private final int variant; // 0 or 1
+    // Walk cycle per variant, built from the loaded frame counts
+    private static AnimationClip[] clips;
 
     // Desired visual size to match the Player sprite drawing
-    private static final int VISUAL_W = (int) (62.5f * Game.SCALE);
-    private static final int VISUAL_H = (int) (46.25f * Game.SCALE);
+    static final int VISUAL_W = (int) (62.5f * Game.SCALE);
+    static final int VISUAL_H = (int) (46.25f * Game.SCALE);
 
-    public Enemy(float x, float y, int w, int h, int variant, int[][] levelData) {
-        super(x, y, w, h);
-        this.levelData = levelData;
-        this.variant = Math.max(0, Math.min(1, variant));
-        // Slightly smaller hitbox for more forgiving collisions (we already pass in sensible w/h)
-        initHitBox(x, y, w - (int)(10*Game.SCALE), h - (int)(10*Game.SCALE));
-
-        loadEnemyFramesIfNeeded();
-
-        // start moving right by default
-        this.xSpeed = baseSpeed;
-    }
+    private EnemySprites() { }
 
     /**
      * Load enemy sprite atlases and slice into square frames (frameW = imgHeight).
      * We support both single-frame images and horizontal strips.
      */
-    private void loadEnemyFramesIfNeeded() {
+    static void loadIfNeeded() {
         if (triedLoadingImages) return;
         triedLoadingImages = true;
 
@@ -132,7 +110,7 @@ public class Enemy extends Entity {
     }
 
     // Slice atlas into square frames. If atlas==null returns a one-element array with null.
-    private BufferedImage[] sliceAtlasToFrames(BufferedImage atlas) {
+    private static BufferedImage[] sliceAtlasToFrames(BufferedImage atlas) {
         if (atlas == null) return new BufferedImage[] { null };
         int h = atlas.getHeight();
         int w = atlas.getWidth();
@@ -161,66 +139,48 @@ public class Enemy extends Entity {
         return frames;
     }
 
-    public void update() {
-        // If dying, only update death animation
-        if (dying) {
-            deathAnimationTick++;
-            deathFadeAlpha = 1.0f - ((float)deathAnimationTick / deathAnimationDuration);
-            return;
-        }
-        
-        // Animate
-        if (imagesAvailable && enemyFrames != null && variant < enemyFrames.length && enemyFrames[variant] != null) {
-            animTick++;
-            if (animTick >= animSpeed) {
-                animTick = 0;
-                animIndex++;
-                if (animIndex >= enemyFrames[variant].length) animIndex = 0;
-            }
-        }
-
-        // Use xSpeed for horizontal movement
-        if (CanMoveHere(hitBox.x + xSpeed, hitBox.y, hitBox.width, hitBox.height, levelData)) {
-            hitBox.x += xSpeed;
-        } else {
-            // reverse direction smoothly
-            xSpeed = -xSpeed;
-        }
-
-        // Edge ahead check: build a thin probe hitbox one pixel ahead
-        float probeX = xSpeed > 0 ? (hitBox.x + hitBox.width + 1) : (hitBox.x - 1);
-        Rectangle2D.Float probeHB = new Rectangle2D.Float(probeX, hitBox.y, 1, hitBox.height);
-
-        // If there is no floor directly under the probe, turn around (reverse xSpeed)
-        if (!IsOnFloor(probeHB, levelData)) {
-            xSpeed = -xSpeed;
-        }
+    /** Number of animation frames of a variant; 1 when sprites are missing. */
+    static int frameCount(int variant) {
+        if (!imagesAvailable || enemyFrames == null || variant >= enemyFrames.length || enemyFrames[variant] == null) return 1;
+        return Math.max(1, enemyFrames[variant].length);
+    }
 
-        // Gravity: move down if there is space
-        if (CanMoveHere(hitBox.x, hitBox.y + 1, hitBox.width, hitBox.height, levelData)) {
-            hitBox.y += 1;
+    /** Walk cycle of a variant. Call after {@link #loadIfNeeded()}. */
+    static AnimationClip clip(int variant) {
+        if (clips == null) {
+            AnimationClip[] built = new AnimationClip[2];
+            for (int v = 0; v < built.length; v++) built[v] = new AnimationClip(frameCount(v), ANIM_SPEED, true);
+            clips = built;
         }
+        return clips[variant];
     }
 
-    public void render(Graphics g, int cameraOffsetX) {
+    /**
+     * Draws one enemy with its sprite bottom-aligned to the hitbox. {@code deathTick} is
+     * negative for a living enemy, otherwise the number of ticks since it started dying.
+     */
+    static void draw(Graphics g, int cameraOffsetX, float hbX, float hbY, float hbW, float hbH,
+                     int variant, int animIndex, boolean facingRight, int deathTick) {
+        boolean dying = deathTick >= 0;
+        float deathFadeAlpha = dying ? 1.0f - ((float) deathTick / DEATH_TICKS) : 1.0f;
         // If images aren't available draw fallback rectangle
         if (!imagesAvailable || enemyFrames == null) {
-            drawFallback(g, cameraOffsetX);
+            drawFallback(g, cameraOffsetX, hbX, hbY, hbW, hbH, dying, deathFadeAlpha);
             return;
         }
 
         BufferedImage[] frames = variant < enemyFrames.length ? enemyFrames[variant] : null;
         BufferedImage[] framesFlipped = variant < enemyFramesFlipped.length ? enemyFramesFlipped[variant] : null;
         if (frames == null || frames.length == 0 || frames[0] == null) {
-            drawFallback(g, cameraOffsetX);
+            drawFallback(g, cameraOffsetX, hbX, hbY, hbW, hbH, dying, deathFadeAlpha);
             return;
         }
 
         int frameIdx = animIndex % frames.length;
-        BufferedImage srcImg = (xSpeed >= 0) ? frames[frameIdx] : (framesFlipped != null ? framesFlipped[frameIdx] : frames[frameIdx]);
+        BufferedImage srcImg = facingRight ? frames[frameIdx] : (framesFlipped != null ? framesFlipped[frameIdx] : frames[frameIdx]);
 
         if (srcImg == null) {
-            drawFallback(g, cameraOffsetX);
+            drawFallback(g, cameraOffsetX, hbX, hbY, hbW, hbH, dying, deathFadeAlpha);
             return;
         }
 
@@ -234,7 +194,7 @@ public class Enemy extends Entity {
         // Compute scale to fit the sprite inside the target box while preserving aspect ratio
         float scale = Math.min((float) targetW / srcW, (float) targetH / srcH);
         if (scale <= 0f) {
-            drawFallback(g, cameraOffsetX);
+            drawFallback(g, cameraOffsetX, hbX, hbY, hbW, hbH, dying, deathFadeAlpha);
             return;
         }
 
@@ -242,8 +202,8 @@ public class Enemy extends Entity {
         int drawH = Math.max(1, Math.round(srcH * scale));
 
         // Bottom-align sprite to the enemy's hitbox bottom
-        int drawX = (int) hitBox.x + ((int)hitBox.width - drawW) / 2 - cameraOffsetX;
-        int drawY = (int) (hitBox.y + hitBox.height - drawH);
+        int drawX = (int) hbX + ((int)hbW - drawW) / 2 - cameraOffsetX;
+        int drawY = (int) (hbY + hbH - drawH);
 
         // Apply death animation effects
         if (dying) {
@@ -255,7 +215,7 @@ public class Enemy extends Entity {
             g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, Math.max(0, deathFadeAlpha)));
             
             // Draw with rotation/scale effect for dramatic death
-            double deathProgress = (double)deathAnimationTick / deathAnimationDuration;
+            double deathProgress = (double)deathTick / DEATH_TICKS;
             double rotationAngle = deathProgress * Math.PI * 0.5; // 90 degree rotation
             double scaleMultiplier = 1.0 - (deathProgress * 0.3); // Shrink to 70%
             
@@ -278,12 +238,13 @@ public class Enemy extends Entity {
         }
     }
 
-    private void drawFallback(Graphics g, int cameraOffsetX) {
+    private static void drawFallback(Graphics g, int cameraOffsetX, float hbX, float hbY, float hbW, float hbH,
+                                     boolean dying, float deathFadeAlpha) {
         // Visible debugging fallback: colored rectangle with "E" label so you can see enemies
-        int x = Math.max(0, (int) hitBox.x - cameraOffsetX);
-        int y = Math.max(0, (int) hitBox.y);
-        int w = Math.max(8, (int) hitBox.width);
-        int h = Math.max(8, (int) hitBox.height);
+        int x = Math.max(0, (int) hbX - cameraOffsetX);
+        int y = Math.max(0, (int) hbY);
+        int w = Math.max(8, (int) hbW);
+        int h = Math.max(8, (int) hbH);
         
         // Apply death animation to fallback as well
         if (dying) {
@@ -316,33 +277,4 @@ public class Enemy extends Entity {
             g.drawString(s, tx, ty);
         }
     }
-    
-    // Health API
-    public void takeDamage(int amount) {
-        if (amount <= 0 || dying) return; // Don't take damage if already dying
-        health = Math.max(0, health - amount);
-        // Play damage sound
-        util.SoundManager.play(util.SoundManager.SoundEffect.ENEMY_DAMAGE);
-        // Start death animation if enemy dies
-        if (health <= 0) {
-            dying = true;
-            util.SoundManager.play(util.SoundManager.SoundEffect.ENEMY_DEATH);
-        }
-    }
-    
-    public boolean isDead() {
-        // Only truly dead when death animation is complete
-        return dying && deathAnimationTick >= deathAnimationDuration;
-    }
-    
-    public boolean isDying() {
-        return dying;
-    }
-    
-    public int getHealth() {
-        return health;
-    }
 }
-
-
-
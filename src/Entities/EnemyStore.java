@@ -0,0 +1,264 @@
+package Entities;
+
+import Main.Game;
+import levels.SolidGrid;
+import util.Aabb;
+import util.ActivityRegion;
+import util.FixedPoint;
+import util.SimClock;
+import util.StateHash;
+import util.TileCollider;
+
+import java.awt.*;
+import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import static util.Helpmethods.IsOnFloor;
+
+/**
+ * Structure-of-arrays storage for regular enemies.
+ *
+ * Each enemy is an index into parallel primitive arrays (hitbox, speed, health, death
+ * counter, animation start tick), so the update, contact and render loops walk memory linearly
+ * instead of chasing one heap object per enemy. Removal swaps the last enemy into the
+ * freed slot; indices are therefore only stable until the next {@link #update()}.
+ *
+ * In parallel mode (run with {@code -Denemies.parallel=true}) large hordes are split into
+ * contiguous chunks stepped on the common ForkJoin pool. Each chunk has its own scratch
+ * state and records finished deaths in its own buffer; the buffers are merged in chunk
+ * order on the calling thread, so the result is identical to the serial mode.
+ *
+ * Enemies outside the {@link ActivityRegion} are dormant: they keep their state but are not
+ * moved until the region reaches them again. Dying enemies always tick so
+ * their removal isn't held up.
+ */
+public class EnemyStore {
+    private static final float BASE_SPEED = FixedPoint.snap(0.5f * Game.SCALE);
+    private static final int ALIVE = -1;
+    // Below this many enemies the fork/join overhead outweighs the work
+    private static final int PARALLEL_THRESHOLD = 512;
+    private static final int MIN_CHUNK = 128;
+
+    private int count = 0;
+    private float[] x = new float[16], y = new float[16], w = new float[16], h = new float[16];
+    private float[] xSpeed = new float[16];
+    private int[] health = new int[16];
+    // ALIVE, or ticks since the death animation started
+    private int[] deathTick = new int[16];
+    // Tick the walk cycle started; the frame comes from EnemySprites.clip()
+    private long[] animStart = new long[16];
+    private byte[] variant = new byte[16];
+
+    private SolidGrid solidGrid;
+    private ActivityRegion activity = new ActivityRegion();
+    private final boolean parallel = Boolean.getBoolean("enemies.parallel");
+    private final Chunk serial = new Chunk();
+    private Chunk[] chunks = new Chunk[0];
+
+    /** Removes every enemy and switches to the given level's tiles. */
+    public void reset(SolidGrid solidGrid) {
+        this.solidGrid = solidGrid;
+        count = 0;
+    }
+
+    public void clear() {
+        count = 0;
+    }
+
+    /**
+     * Adds an enemy whose sprite covers (x, y, w, h) and returns its index. The hitbox is
+     * slightly smaller than the sprite for more forgiving collisions.
+     */
+    public int add(float x, float y, int w, int h, int variant) {
+        EnemySprites.loadIfNeeded();
+        if (count == this.x.length) grow();
+        int i = count++;
+        this.x[i] = x;
+        this.y[i] = y;
+        this.w[i] = w - (int) (10 * Game.SCALE);
+        this.h[i] = h - (int) (10 * Game.SCALE);
+        // start moving right by default
+        xSpeed[i] = BASE_SPEED;
+        health[i] = 1;
+        deathTick[i] = ALIVE;
+        animStart[i] = SimClock.ticks();
+        this.variant[i] = (byte) Math.max(0, Math.min(1, variant));
+        return i;
+    }
+
+    private void grow() {
+        int cap = count * 2;
+        x = Arrays.copyOf(x, cap);
+        y = Arrays.copyOf(y, cap);
+        w = Arrays.copyOf(w, cap);
+        h = Arrays.copyOf(h, cap);
+        xSpeed = Arrays.copyOf(xSpeed, cap);
+        health = Arrays.copyOf(health, cap);
+        deathTick = Arrays.copyOf(deathTick, cap);
+        animStart = Arrays.copyOf(animStart, cap);
+        variant = Arrays.copyOf(variant, cap);
+    }
+
+    /** Steps every enemy, then swap-removes those whose death animation has finished. */
+    public void update() {
+        int pool = ForkJoinPool.getCommonPoolParallelism();
+        if (!parallel || count < PARALLEL_THRESHOLD || pool < 2) {
+            serial.range(0, count);
+            serial.compute();
+            removeFinished(serial);
+            return;
+        }
+
+        int chunkCount = Math.min(pool * 4, count / MIN_CHUNK);
+        if (chunks.length != chunkCount) {
+            chunks = new Chunk[chunkCount];
+            for (int c = 0; c < chunkCount; c++) chunks[c] = new Chunk();
+        }
+        for (int c = 0; c < chunkCount; c++) {
+            chunks[c].reinitialize();
+            chunks[c].range((int) ((long) count * c / chunkCount), (int) ((long) count * (c + 1) / chunkCount));
+        }
+        ForkJoinTask.invokeAll(chunks);
+
+        // Merge from the last chunk down so removals happen in descending index order, as in serial mode
+        for (int c = chunkCount - 1; c >= 0; c--) removeFinished(chunks[c]);
+    }
+
+    private void removeFinished(Chunk chunk) {
+        for (int k = chunk.finishedCount - 1; k >= 0; k--) remove(chunk.finished[k]);
+    }
+
+    public void setActivityRegion(ActivityRegion activity) {
+        this.activity = activity;
+    }
+
+    /**
+     * Steps a contiguous range of enemies. Only writes the enemies in its own range and
+     * its own scratch/output fields, so chunks can run concurrently.
+     */
+    private final class Chunk extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        // Scratch boxes: TileCollider works on rectangles, the arrays are copied in and out
+        private final Aabb box = new Aabb();
+        private final Aabb probe = new Aabb();
+        private final TileCollider.Contact contact = new TileCollider.Contact();
+        private int from, to;
+        // Enemies in this range whose death animation finished, ascending
+        private int[] finished = new int[16];
+        private int finishedCount;
+
+        void range(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            finishedCount = 0;
+            float left = activity.getLeft();
+            float right = activity.getRight();
+            for (int i = from; i < to; i++) {
+                if (deathTick[i] != ALIVE) {
+                    if (++deathTick[i] >= EnemySprites.DEATH_TICKS) {
+                        if (finishedCount == finished.length) finished = Arrays.copyOf(finished, finishedCount * 2);
+                        finished[finishedCount++] = i;
+                    }
+                } else if (x[i] + w[i] >= left && x[i] <= right) {
+                    step(i, box, probe, contact);
+                }
+            }
+        }
+    }
+
+    private void step(int i, Aabb box, Aabb probe, TileCollider.Contact contact) {
+        box.set(x[i], y[i], w[i], h[i]);
+        float speed = xSpeed[i];
+
+        // Use xSpeed for horizontal movement; on hitting a wall reverse direction
+        if (TileCollider.moveX(box, speed, solidGrid, contact)) {
+            speed = -speed;
+        }
+
+        // Edge ahead check: if there is no floor under a thin probe one pixel ahead, turn around
+        float probeX = speed > 0 ? (box.x + box.width + 1) : (box.x - 1);
+        probe.set(probeX, box.y, 1, box.height);
+        if (!IsOnFloor(probe, solidGrid)) {
+            speed = -speed;
+        }
+
+        // Gravity: move down until resting on the floor
+        TileCollider.moveY(box, 1, solidGrid, contact);
+
+        x[i] = FixedPoint.snap(box.x);
+        y[i] = FixedPoint.snap(box.y);
+        xSpeed[i] = speed;
+    }
+
+    private void remove(int i) {
+        int last = --count;
+        if (i == last) return;
+        x[i] = x[last];
+        y[i] = y[last];
+        w[i] = w[last];
+        h[i] = h[last];
+        xSpeed[i] = xSpeed[last];
+        health[i] = health[last];
+        deathTick[i] = deathTick[last];
+        animStart[i] = animStart[last];
+        variant[i] = variant[last];
+    }
+
+    public void damage(int i, int amount) {
+        if (amount <= 0 || deathTick[i] != ALIVE) return; // Don't take damage if already dying
+        health[i] = Math.max(0, health[i] - amount);
+        util.GameEvents.publish(util.GameEvents.Type.ENEMY_DAMAGE);
+        // Start death animation if enemy dies
+        if (health[i] <= 0) {
+            deathTick[i] = 0;
+            util.GameEvents.publish(util.GameEvents.Type.ENEMY_DEATH);
+        }
+    }
+
+    public boolean overlaps(int i, Rectangle2D.Float r) {
+        return x[i] < r.x + r.width && x[i] + w[i] > r.x
+                && y[i] < r.y + r.height && y[i] + h[i] > r.y;
+    }
+
+    public void render(Graphics g, int cameraOffsetX) {
+        int viewRight = cameraOffsetX + Game.GAME_WIDTH;
+        long now = SimClock.ticks();
+        for (int i = 0; i < count; i++) {
+            // Skip enemies whose sprite can't reach the screen
+            if (x[i] + EnemySprites.VISUAL_W < cameraOffsetX || x[i] - EnemySprites.VISUAL_W > viewRight) continue;
+            // The walk cycle stops where it was when the enemy started dying
+            long at = deathTick[i] == ALIVE ? now : now - deathTick[i];
+            int frame = EnemySprites.clip(variant[i]).frameAt(animStart[i], at);
+            EnemySprites.draw(g, cameraOffsetX, x[i], y[i], w[i], h[i],
+                    variant[i], frame, xSpeed[i] >= 0, deathTick[i]);
+        }
+    }
+
+    public void hashState(StateHash hash) {
+        hash.add(count);
+        for (int i = 0; i < count; i++) {
+            hash.add(x[i]).add(y[i]).add(xSpeed[i]).add(health[i]).add(deathTick[i] != ALIVE);
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public boolean isDying(int i) {
+        return deathTick[i] != ALIVE;
+    }
+
+    public float getX(int i) { return x[i]; }
+    public float getY(int i) { return y[i]; }
+    public float getWidth(int i) { return w[i]; }
+    public float getHeight(int i) { return h[i]; }
+}
@@ -1,12 +1,15 @@
 package Entities;
 
+import util.Aabb;
+import util.FixedPoint;
+import util.StateHash;
+
 import java.awt.*;
-import java.awt.geom.Rectangle2D;
 
 public abstract class Entity {
     protected float x,y;
     protected  int width,height;
-    protected Rectangle2D.Float hitBox;
+    protected Aabb hitBox;
     public Entity(float x,float y,int width,int height){
           this.x = x;
           this.y = y;
@@ -18,10 +21,22 @@ public abstract class Entity {
         g.drawRect((int)hitBox.x, (int)hitBox.y, (int)hitBox.width, (int)hitBox.height);
     }
     protected void initHitBox(float x, float y, float width, float height) {
-        hitBox = new Rectangle2D.Float(x,y,width,height);
+        hitBox = new Aabb(x,y,width,height);
+    }
+
+    /** Puts the hitbox back on the sub-pixel lattice in fixed-point mode; no-op otherwise. */
+    protected void snapHitBox() {
+        if (!FixedPoint.ENABLED) return;
+        hitBox.x = FixedPoint.snap(hitBox.x);
+        hitBox.y = FixedPoint.snap(hitBox.y);
+    }
+
+    /** Adds the state that drives the simulation to the per-tick hash. */
+    public void hashState(StateHash h) {
+        h.add(hitBox.x).add(hitBox.y);
     }
 
-    public Rectangle2D.Float getHitBox(){
+    public Aabb getHitBox(){
         return hitBox;
     }
 
@@ -1,7 +1,13 @@
 package Entities;
 
 import Main.Game;
+import levels.Level;
+import util.Aabb;
+import util.AnimationClip;
 import util.LoadSave;
+import util.PlayerStepper;
+import util.SimClock;
+import util.StateHash;
 import java.awt.*;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Rectangle2D;
@@ -10,29 +16,26 @@ import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 
 import static util.Constants.PlayerConstants.*;
-import static util.Helpmethods.*;
 
 public class Player extends Entity{
     private static ArrayList<BufferedImage[]> animations = new ArrayList<>();
 
-    private int tick,index,speed= 30;
-    private int attackSpeed = 10; // Attack animation speed (was 5, user requested 10)
+    private static final int SPEED = 30; // ticks per frame
+    private static final int ATTACK_SPEED = 10; // Attack animation speed (was 5, user requested 10)
+    // One clip per action, built with the frames
+    private static AnimationClip[] clips;
+    // Tick the current action's animation started
+    private long animStart;
     private int currentAction = RUNNING;
     private boolean moving = false,attacking = false, mirror = false;
-    private boolean left,right,jump,inAir = false;
+    private boolean left,right,jump;
+    private volatile boolean attackStarted = false;
 
-    // Physics
-    private float playerSpeed = Game.SCALE;
-    private int[][] levelData;
+    // Physics: position, vertical speed and the double-jump counter
+    private final PlayerStepper physics;
+    // Reused for every getAttackHitbox() call
+    private final Aabb attackBox = new Aabb();
     private float offsetX = 21* Game.SCALE , offsetY = 4*Game.SCALE;
-    private float airSpeed = 0;
-    private float gravity = 0.04f * Game.SCALE;
-    private float jumpSpeed = -2.5f * Game.SCALE; // Reduced by ~10% for lower jumps (was -2.8f)
-    private float xSpeed;
-
-    // Double jump
-    private int jumpsDone = 0;
-    private int maxJumps = 2;
 
     // NEW: Hearts-based health
     private int maxHearts = 3;
@@ -41,10 +44,15 @@ public class Player extends Entity{
     public Player(float x, float y, int w,int h) {
         super(x, y, w, h);
         loadAnimations();
-        initHitBox(x,y,(int)(20*Game.SCALE),(int)(40*Game.SCALE));
+        initHitBox(x,y,HITBOX_WIDTH,HITBOX_HEIGHT);
+        physics = new PlayerStepper(hitBox, null);
     }
 
     public void update(){
+        if (attackStarted) {
+            attackStarted = false;
+            util.GameEvents.publish(util.GameEvents.Type.PLAYER_ATTACK);
+        }
         updatePos();
         updateAnimationTick();
         setAnimation();
@@ -53,12 +61,12 @@ public class Player extends Entity{
     public void render(Graphics g, int cameraOffsetX){
         int drawX = (int)hitBox.x - (int)offsetX - cameraOffsetX;
         int drawY = (int)hitBox.y - (int)offsetY;
-        g.drawImage(animations.get(currentAction)[index], drawX, drawY, width, height, null);
+        g.drawImage(animations.get(currentAction)[clips[currentAction].frame(animStart)], drawX, drawY, width, height, null);
         // drawHitBox(g, cameraOffsetX);
     }
 
     public boolean isInAir() {
-        return inAir;
+        return physics.inAir;
     }
 
     private void loadAnimations() {
@@ -144,6 +152,13 @@ public class Player extends Entity{
             mirroredAnimations.add(mirroredFrames);
         }
         animations.addAll(mirroredAnimations);
+
+        clips = new AnimationClip[animations.size()];
+        for (int a = 0; a < clips.length; a++) {
+            // Use faster animation speed for attacks
+            int ticks = (a == ATTACK || a == ATTACK_MIRROR) ? ATTACK_SPEED : SPEED;
+            clips[a] = new AnimationClip(animations.get(a).length, ticks, true);
+        }
     }
 
     private BufferedImage flipImage(BufferedImage image) {
@@ -156,26 +171,15 @@ public class Player extends Entity{
         return flippedImage;
     }
 
-    public void loadLevelData(int[][] levelData){
-        this.levelData = levelData;
-        if(!IsOnFloor(hitBox,levelData)){
-            inAir = true;
-        } else {
-            jumpsDone = 0;
-        }
+    public void loadLevelData(Level level){
+        physics.setGrid(level.getSolidGrid());
     }
 
     private void updateAnimationTick() {
-        tick++;
-        // Use faster animation speed for attacks
-        int currentSpeed = (currentAction == ATTACK || currentAction == ATTACK_MIRROR) ? attackSpeed : speed;
-        if (tick >= currentSpeed) {
-            tick = 0;
-            index++;
-            if (index >= animations.get(currentAction).length) {
-                index = 0;
-                attacking = false;
-            }
+        // An attack lasts one play of its clip
+        if (attacking && (currentAction == ATTACK || currentAction == ATTACK_MIRROR)
+                && clips[currentAction].isDone(animStart)) {
+            attacking = false;
         }
     }
 
@@ -188,8 +192,8 @@ public class Player extends Entity{
             if(mirror) currentAction = IDLE_MIRROR;
             else currentAction = IDLE;
         }
-        if(inAir){
-            if(airSpeed > 0){
+        if(physics.inAir){
+            if(physics.airSpeed > 0){
                 if(mirror) currentAction = FALL_MIRROR;
                 else currentAction = FALL;
             } else{
@@ -202,78 +206,28 @@ public class Player extends Entity{
             else currentAction = ATTACK;
         }
         if(start != currentAction) {
-            tick = 0;
-            index = 0;
+            animStart = SimClock.ticks();
         }
     }
 
     private void updatePos(){
-        moving = false;
-
-        if(jump) {
-            tryJump();
-        }
-
-        if(!left && !right && !inAir)
-            return;
-
-        xSpeed = 0;
-
-        if(left) {
-            mirror = true;
-            xSpeed -= playerSpeed;
-        }
-        if(right) {
-            mirror = false;
-            xSpeed += playerSpeed;
-        }
-
-        if(!inAir){
-            if(!IsOnFloor(hitBox,levelData)){
-                inAir = true;
-            } else {
-                jumpsDone = 0;
-            }
-        }
-
-        if(inAir) {
-            airSpeed += gravity;
+        if(physics.step(left, right, jump)) {
+            // Play jump sound
+            util.GameEvents.publish(util.GameEvents.Type.PLAYER_JUMP);
         }
+        jump = false;
 
-        updatePosition(xSpeed);
+        if(left) mirror = true;
+        if(right) mirror = false;
 
         // Only mark moving when there's horizontal speed or when in-air (so animations/states match reality)
-        moving = (xSpeed != 0) || inAir;
-    }
-
-    private void tryJump() {
-        if (jumpsDone < maxJumps) {
-            inAir = true;
-            airSpeed = jumpSpeed;
-            jumpsDone++;
-            // Play jump sound
-            util.SoundManager.play(util.SoundManager.SoundEffect.PLAYER_JUMP);
-        }
-        jump = false;
+        moving = left != right || physics.inAir;
     }
 
-    private void updatePosition(float xSpeed){
-        if(CanMoveHere(hitBox.x+xSpeed, hitBox.y-1, hitBox.width, hitBox.height,levelData)) {
-            hitBox.x += xSpeed;
-        }else{
-            hitBox.x = XPosNextToWall(hitBox,xSpeed);
-        }
-        if(CanMoveHere(hitBox.x, hitBox.y+airSpeed, hitBox.width, hitBox.height,levelData)) {
-            hitBox.y += airSpeed;
-        }else{
-            if(airSpeed<0){
-                airSpeed=0;
-            }else if(airSpeed > 0){
-                inAir = false;
-                moving = false;
-                jumpsDone = 0;
-            }
-        }
+    @Override
+    public void hashState(StateHash h) {
+        super.hashState(h);
+        h.add(physics.airSpeed).add(physics.inAir).add(physics.jumpsDone).add(hearts);
     }
 
     // Hearts API
@@ -283,7 +237,7 @@ public class Player extends Entity{
         if (heartsToLose <= 0) return;
         hearts = Math.max(0, hearts - heartsToLose);
         // Play damage sound
-        util.SoundManager.play(util.SoundManager.SoundEffect.PLAYER_DAMAGE);
+        util.GameEvents.publish(util.GameEvents.Type.PLAYER_DAMAGE);
     }
     public void healHearts(int heartsToAdd) {
         if (heartsToAdd <= 0) return;
@@ -296,9 +250,9 @@ public class Player extends Entity{
     // boolean setters
     public void setAttacking(boolean attacking){
         this.attacking = attacking;
-        // Play attack sound when starting attack
+        // Input arrives on the UI thread; the attack event is published on the next update
         if (attacking) {
-            util.SoundManager.play(util.SoundManager.SoundEffect.PLAYER_ATTACK);
+            attackStarted = true;
         }
     }
     public void setLeft(boolean left) {
@@ -326,8 +280,9 @@ public class Player extends Entity{
      * Returns the attack hitbox when the player is attacking, null otherwise.
      * The hitbox is positioned in front of the player based on facing direction.
      * Size: approximately 50x45 pixels scaled (increased for better reach).
+     * The same box instance is returned every call; it is only valid for the current tick.
      */
-    public Rectangle2D.Float getAttackHitbox() {
+    public Aabb getAttackHitbox() {
         if (!attacking) return null;
         
         // Increased attack reach: 50 wide (was 30), 45 tall (was 40)
@@ -346,6 +301,6 @@ public class Player extends Entity{
         // Vertically centered on player hitbox
         float attackY = hitBox.y + (hitBox.height - attackH) / 2;
         
-        return new Rectangle2D.Float(attackX, attackY, attackW, attackH);
+        return attackBox.set(attackX, attackY, attackW, attackH);
     }
 }
\ No newline at end of file
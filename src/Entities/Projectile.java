@@ -1,35 +1,57 @@
 package Entities;
 
 import Main.Game;
+import levels.SolidGrid;
+import util.Aabb;
+import util.StateHash;
+import util.TileCollider;
 import java.awt.*;
-import java.awt.geom.Rectangle2D;
 
 /**
  * Projectile fired by enemies.
+ *
+ * Instances live in a {@link ProjectilePool}: they are created once, inactive, and armed
+ * with {@link #reset} each time they are fired.
  */
 public class Projectile {
-    private Rectangle2D.Float hitBox;
+    private final Aabb hitBox = new Aabb(0, 0, WIDTH, HEIGHT);
     private float xSpeed;
     private int damage = 1;
-    private boolean active = true;
+    private boolean active = false;
     
     // Visual properties
     private static final int WIDTH = (int)(8 * Game.SCALE);
     private static final int HEIGHT = (int)(8 * Game.SCALE);
     
-    public Projectile(float x, float y, float xSpeed) {
+    /** Arms the projectile at (x, y) moving horizontally. */
+    Projectile reset(float x, float y, float xSpeed) {
         this.xSpeed = xSpeed;
-        this.hitBox = new Rectangle2D.Float(x, y, WIDTH, HEIGHT);
+        hitBox.x = x;
+        hitBox.y = y;
+        active = true;
+        return this;
     }
-    
-    public void update() {
-        hitBox.x += xSpeed;
-        
-        // Deactivate if off-screen
-        if (hitBox.x < -100 || hitBox.x > Game.GAME_WIDTH + 100) {
+
+    /**
+     * Moves the projectile, sweeping it against the level tiles. It dies on the first
+     * solid tile it touches or once it leaves the level.
+     */
+    public void update(SolidGrid grid, TileCollider.Contact contact) {
+        if (!active) return;
+        if (TileCollider.sweep(hitBox, xSpeed, 0, grid, contact)) {
+            active = false;
+            return;
+        }
+        hitBox.translate(xSpeed, 0);
+        if (isOutsideLevel(grid)) {
             active = false;
         }
     }
+
+    private boolean isOutsideLevel(SolidGrid grid) {
+        return hitBox.x + hitBox.width < 0 || hitBox.x > grid.getWidth() * Game.TILES_SIZE
+                || hitBox.y + hitBox.height < 0 || hitBox.y > grid.getHeight() * Game.TILES_SIZE;
+    }
     
     public void render(Graphics g, int cameraOffsetX) {
         if (!active) return;
@@ -46,7 +68,11 @@ public class Projectile {
         g.fillOval(drawX - 2, drawY - 2, WIDTH + 4, HEIGHT + 4);
     }
     
-    public Rectangle2D.Float getHitBox() {
+    public void hashState(StateHash h) {
+        h.add(hitBox.x).add(hitBox.y).add(active);
+    }
+
+    public Aabb getHitBox() {
         return hitBox;
     }
     
@@ -0,0 +1,95 @@
+package Entities;
+
+import levels.SolidGrid;
+import util.StateHash;
+import util.TileCollider;
+
+import java.awt.*;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Fixed-capacity projectile storage.
+ *
+ * All projectiles are allocated up front. Firing pops a slot off the free list and
+ * spent projectiles are pushed back after each update, so shooting never allocates.
+ * Live projectiles are kept in a dense index list in firing order; their position in
+ * that list is the id handed to contact queries and is valid until the next update.
+ * When every slot is in flight further shots are dropped.
+ */
+public class ProjectilePool<P extends Projectile> {
+    private final P[] slots;
+    private final int[] free;
+    private int freeCount;
+    private final int[] live;
+    private int liveCount = 0;
+
+    public ProjectilePool(int capacity, IntFunction<P[]> arrayFactory, Supplier<P> factory) {
+        slots = arrayFactory.apply(capacity);
+        free = new int[capacity];
+        live = new int[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = factory.get();
+            // Hand out low slots first
+            free[i] = capacity - 1 - i;
+        }
+        freeCount = capacity;
+    }
+
+    /**
+     * Takes a free projectile and appends it to the live list. The caller arms it with
+     * its reset method. Returns null when the pool is exhausted.
+     */
+    public P obtain() {
+        if (freeCount == 0) return null;
+        int slot = free[--freeCount];
+        live[liveCount++] = slot;
+        return slots[slot];
+    }
+
+    /** Moves every live projectile, then returns the spent ones to the free list. */
+    public void update(SolidGrid grid, TileCollider.Contact contact) {
+        for (int i = 0; i < liveCount; i++) slots[live[i]].update(grid, contact);
+
+        // Compact in place so the survivors keep their firing order
+        int kept = 0;
+        for (int i = 0; i < liveCount; i++) {
+            int slot = live[i];
+            if (slots[slot].isActive()) live[kept++] = slot;
+            else free[freeCount++] = slot;
+        }
+        liveCount = kept;
+    }
+
+    /** Returns every live projectile to the pool. */
+    public void clear() {
+        for (int i = 0; i < liveCount; i++) {
+            slots[live[i]].deactivate();
+            free[freeCount++] = live[i];
+        }
+        liveCount = 0;
+    }
+
+    public void render(Graphics g, int cameraOffsetX) {
+        for (int i = 0; i < liveCount; i++) slots[live[i]].render(g, cameraOffsetX);
+    }
+
+    public void hashState(StateHash h) {
+        h.add(liveCount);
+        for (int i = 0; i < liveCount; i++) slots[live[i]].hashState(h);
+    }
+
+    /** Number of live projectiles. */
+    public int size() {
+        return liveCount;
+    }
+
+    /** The i-th live projectile, in firing order. */
+    public P get(int i) {
+        return slots[live[i]];
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+}
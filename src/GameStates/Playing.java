@@ -15,10 +15,21 @@ import java.awt.*;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
 import java.awt.geom.Rectangle2D;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
 import levels.CoinManager;
 import ui.PauseOverlay;
+import util.ActivityRegion;
+import util.CollisionStage;
+import util.ContactBuffer;
+import util.FixedPoint;
+import util.GameRandom;
+import util.GameStats;
+import util.SimClock;
+import util.StateHash;
 
 import static Main.Game.*;
+import static util.Constants.Contacts.*;
 public class Playing extends State implements StateMethods {
     private Player player;
     private LevelManager levelManager;
@@ -31,6 +42,17 @@ public class Playing extends State implements StateMethods {
     private VictoryOverlay victoryOverlay;
     private boolean paused;
 
+    // All player-vs-world contact tests run here once per tick
+    private final CollisionStage collisionStage = new CollisionStage(PROBE_COUNT);
+    // Camera view plus margin; enemies outside it are dormant
+    private final ActivityRegion activityRegion = new ActivityRegion();
+
+    // Per-tick world hash, only computed in fixed-point physics mode (replay/lockstep checks)
+    private final StateHash stateHash = new StateHash();
+    private long tickCount = 0;
+    // Every gameplay random draw comes from here; fix it with -Dgame.seed for reproducible runs
+    private final GameRandom random = new GameRandom();
+
     // Boss system
     private Boss boss;
     private boolean bossDefeated = false;
@@ -39,7 +61,21 @@ public class Playing extends State implements StateMethods {
     private long bossIntroStartMs = 0;
     private static final long BOSS_INTRO_DURATION_MS = 4000;
 
+    // Fraction of a level's width after which the next level is preloaded
+    private static final float PRELOAD_AT = 0.5f;
+    // Boss built by the level preloader for the arena, taken by spawnBoss()
+    private volatile Boss preparedBoss;
+    // Spikes and pickups the level preloader planned for the next level
+    private volatile levels.Placements preparedPlacements;
+    // Split from PICKUPS each time a level is entered; the preloader plans the next level with it
+    private SplittableRandom placementRandom;
+    // Handed to preloadNext(); kept so the per-tick call doesn't allocate
+    private final Consumer<levels.Level> levelPreparer = this::prepareLevel;
+    private final Consumer<levels.Level> bossPreparer = this::prepareBoss;
+
     private int gold = 0;
+    // Jumps, kills, pickups etc. for the current run, fed from the gameplay event bus
+    private final GameStats stats = new GameStats();
     private final GoldUI goldUI = new GoldUI();
     private final HeartsUI heartsUI = new HeartsUI();
 
@@ -74,26 +110,30 @@ public class Playing extends State implements StateMethods {
     }
 
     private void init() {
-        levelManager = new LevelManager(game);
+        levelManager = new LevelManager(game, random.getSeed());
         player = new Player(100, 200, (int) (62.5 * SCALE), (int) (46.25 * SCALE));
-        player.loadLevelData(levelManager.getCurrentLevel().getLevelData());
+        player.loadLevelData(levelManager.getCurrentLevel());
 
-        enemyManager = new EnemyManager();
+        enemyManager = new EnemyManager(random.stream(GameRandom.Stream.ENEMIES));
+        enemyManager.setActivityRegion(activityRegion);
         enemyManager.spawnForLevel(levelManager.getCurrentLevel());
 
         spikeManager = new SpikeManager();
         spikeManager.spawnForLevel(levelManager.getCurrentLevel());
 
-        coinManager = new CoinManager();
+        coinManager = new CoinManager(random.stream(GameRandom.Stream.PICKUPS));
         // ensure coins do not spawn on spikes
         coinManager.spawnForLevel(levelManager.getCurrentLevel(), spikeManager);
 
         heartManager = new levels.HeartManager();
         heartManager.spawnForLevel(levelManager.getCurrentLevel(), spikeManager);
+        placementRandom = random.stream(GameRandom.Stream.PICKUPS).split();
 
         pauseOverlay = new PauseOverlay(game);
         deathOverlay = new DeathOverlay(game);
-        victoryOverlay = new VictoryOverlay(game);
+        victoryOverlay = new VictoryOverlay(game, random.stream(GameRandom.Stream.UI));
+
+        registerCollidables();
 
         // Boss starts as null (spawned when entering boss level)
         boss = null;
@@ -110,6 +150,25 @@ public class Playing extends State implements StateMethods {
         }
     }
 
+    /**
+     * Hooks every contact source into the collision stage. Registration order is the
+     * order events are produced in, which matches the old per-pass order.
+     */
+    private void registerCollidables() {
+        collisionStage.register(PROBE_PLAYER, ENEMY_BODY, enemyManager::collectEnemyContacts);
+        collisionStage.register(PROBE_PLAYER, ENEMY_PROJECTILE, enemyManager::collectProjectileContacts);
+        collisionStage.register(PROBE_PLAYER, BOSS_PROJECTILE, (probe, type, out) -> {
+            if (boss != null) boss.collectProjectileContacts(probe, type, out);
+        });
+        collisionStage.register(PROBE_PLAYER, SPIKE, spikeManager::collectContacts);
+        collisionStage.register(PROBE_ATTACK, ATTACK_ENEMY, enemyManager::collectEnemyContacts);
+        collisionStage.register(PROBE_ATTACK, ATTACK_BOSS, (probe, type, out) -> {
+            if (boss != null) boss.collectBodyContacts(probe, type, out);
+        });
+        collisionStage.register(PROBE_PLAYER, COIN, coinManager::collectContacts);
+        collisionStage.register(PROBE_PLAYER, HEART, heartManager::collectContacts);
+    }
+
     public void windowFocusLost() {
         player.resetBooleans();
     }
@@ -144,6 +203,9 @@ public class Playing extends State implements StateMethods {
 
     @Override
     public void update() {
+        SimClock.advance();
+        stats.drain();
+
         // Show controls screen at game start
         if (showControlsScreen) {
             return;
@@ -166,6 +228,7 @@ public class Playing extends State implements StateMethods {
 
         // Update camera position to follow player
         updateCamera();
+        activityRegion.follow(cameraOffsetX);
 
         // Handle boss level differently
         if (levelManager.isBossLevel()) {
@@ -176,41 +239,11 @@ public class Playing extends State implements StateMethods {
             }
         } else {
             enemyManager.update();
-            enemyContactDamageCheck();
-        }
-
-        spikeManagerUpdateAndCheck();
-
-        // Check player attack collision with enemies (non-boss levels)
-        if (player.isAttacking() && !levelManager.isBossLevel()) {
-            Rectangle2D.Float attackHitbox = player.getAttackHitbox();
-            enemyManager.checkPlayerAttackCollision(attackHitbox);
-        }
-
-        // Check player attack collision with boss
-        if (player.isAttacking() && boss != null && !boss.isDying()) {
-            Rectangle2D.Float attackHitbox = player.getAttackHitbox();
-            if (attackHitbox != null && boss.getHitBox().intersects(attackHitbox)) {
-                boss.takeDamage(1);
-            }
         }
 
         pauseOverlay.update();
 
-        // update and collect coins
-        coinManager.update();
-        int collected = coinManager.collectIfPlayerTouches(player.getHitBox());
-        if (collected > 0) addGold(collected);
-
-        // update and collect hearts
-        heartManager.update();
-        int heartsCollected = heartManager.collectIfPlayerTouches(player.getHitBox());
-        if (heartsCollected > 0) {
-            player.healHearts(heartsCollected);
-        }
-
-        goldUI.update();
-        heartsUI.update();
+        resolveContacts();
 
         handleBorderTransitions();
         handlePitDeath();
@@ -218,6 +251,34 @@ public class Playing extends State implements StateMethods {
         // update previous-bottom and prevInAir trackers for next frame
         prevPlayerBottom = playerBottom();
         prevInAir = player.isInAir();
+
+        tickCount++;
+        if (FixedPoint.ENABLED) hashWorld();
+    }
+
+    private void hashWorld() {
+        stateHash.reset();
+        stateHash.add(levelManager.getCurrentLevelIndex()).add(gold);
+        player.hashState(stateHash);
+        enemyManager.hashState(stateHash);
+        if (boss != null) boss.hashState(stateHash);
+    }
+
+    public GameRandom getRandom() {
+        return random;
+    }
+
+    /** Hash of the world after the last simulated tick; 0 unless fixed-point physics is on. */
+    public long getStateHash() {
+        return FixedPoint.ENABLED ? stateHash.get() : 0L;
+    }
+
+    public GameStats getStats() {
+        return stats;
+    }
+
+    public long getTickCount() {
+        return tickCount;
     }
 
     /**
@@ -242,19 +303,12 @@ public class Playing extends State implements StateMethods {
                 return;
             }
 
-            // Check boss damage to player
-            long now = System.currentTimeMillis();
-
             // Boss contact damage (1 heart)
 //            if (!boss.isDying() && boss.collidesWithPlayer(player.getHitBox())) {
-//                applyDamageToPlayer(1, now);
+//                applyDamageToPlayer(1, SimClock.millis());
 //            }
 
-            // Boss projectile damage (1 heart each)
-            int projectileDamage = boss.checkProjectilePlayerCollision(player.getHitBox());
-            if (projectileDamage > 0) {
-                applyDamageToPlayer(projectileDamage, now);
-            }
+            // Boss projectile damage is handled in resolveContacts()
         }
     }
 
@@ -262,9 +316,15 @@ public class Playing extends State implements StateMethods {
      * Spawn the boss in the boss arena.
      */
     private void spawnBoss() {
-        int[][] levelData = levelManager.getCurrentLevel().getLevelData();
+        // Normally built ahead of time by the preloader; a respawned boss is built here
+        Boss prepared = preparedBoss;
+        preparedBoss = null;
+        boss = prepared != null ? prepared : createBoss(levelManager.getCurrentLevel());
+        boss.start();
+    }
 
-        int levelWidthPx = levelManager.getCurrentLevel().getLevelWidth() * TILES_SIZE;
+    private Boss createBoss(levels.Level level) {
+        int levelWidthPx = level.getLevelWidth() * TILES_SIZE;
 
         int bossW = (int)(64 * SCALE);
         int bossH = (int)(64 * SCALE);
@@ -272,9 +332,30 @@ public class Playing extends State implements StateMethods {
         int bossX = (levelWidthPx / 2) - (bossW / 2);
 
         int groundY = (TILES_HEIGHT - 2) * TILES_SIZE;
+
+        // A level file may place the boss itself: centred on its column, above its row
+        levels.SpawnTable spawns = level.getSpawns();
+        for (int i = 0; i < spawns.size(); i++) {
+            if (spawns.type(i) != levels.SpawnTable.BOSS) continue;
+            bossX = spawns.tileX(i) * TILES_SIZE + TILES_SIZE / 2 - bossW / 2;
+            groundY = spawns.tileY(i) * TILES_SIZE;
+            break;
+        }
         int bossY = groundY - bossH - (int)(40 * SCALE);
 
-        boss = new Boss(bossX, bossY, bossW, bossH, levelData);
+        return new Boss(bossX, bossY, bossW, bossH, level, random.stream(GameRandom.Stream.BOSS));
+    }
+
+    // Runs on the level preloader
+    private void prepareLevel(levels.Level next) {
+        preparedPlacements = levels.Placements.plan(next, false, placementRandom);
+    }
+
+    // Runs on the level preloader
+    private void prepareBoss(levels.Level arena) {
+        preparedPlacements = levels.Placements.plan(arena, true, placementRandom);
+        Boss.preloadAssets();
+        preparedBoss = createBoss(arena);
     }
 
 
@@ -305,19 +386,52 @@ public class Playing extends State implements StateMethods {
         cameraOffsetX = Math.max(0, Math.min(desiredCameraX, maxCameraX));
     }
 
-    private void enemyContactDamageCheck() {
-        long now = System.currentTimeMillis();
+    /**
+     * Runs the collision stage and applies its contact events. Damage sources are
+     * summed first and applied in the same order the old separate passes used, so the
+     * shared damage cooldown behaves as before.
+     */
+    private void resolveContacts() {
+        collisionStage.setProbe(PROBE_PLAYER, player.getHitBox());
+        collisionStage.setProbe(PROBE_ATTACK, player.isAttacking() ? player.getAttackHitbox() : null);
+        ContactBuffer contacts = collisionStage.run();
+
+        boolean enemyTouch = false;
+        boolean spikeTouch = false;
+        int projectileDamage = 0;
+
+        for (int i = 0; i < contacts.size(); i++) {
+            int index = contacts.index(i);
+            switch (contacts.type(i)) {
+                case ENEMY_BODY -> enemyTouch = true;
+                case ENEMY_PROJECTILE -> projectileDamage += enemyManager.consumeProjectile(index);
+                case BOSS_PROJECTILE -> projectileDamage += boss.consumeProjectile(index);
+                case SPIKE -> spikeTouch = true;
+                case ATTACK_ENEMY -> enemyManager.damageEnemy(index, 1);
+                case ATTACK_BOSS -> boss.takeDamage(1);
+                case COIN -> coinManager.collect(index);
+                case HEART -> heartManager.collect(index);
+            }
+        }
 
-        // Check contact damage from enemies
-        if (enemyManager.collidesWithPlayer(player.getHitBox())) {
+        long now = SimClock.millis();
+        if (enemyTouch) {
             applyDamageToPlayer(1, now);
         }
-
-        // Check projectile damage
-        int projectileDamage = enemyManager.checkProjectilePlayerCollision(player.getHitBox());
         if (projectileDamage > 0) {
             applyDamageToPlayer(projectileDamage, now);
         }
+        if (spikeTouch) {
+            applyDamageToPlayer(1, now);
+        }
+
+        int collected = coinManager.removeCollected();
+        if (collected > 0) addGold(collected);
+
+        int heartsCollected = heartManager.removeCollected();
+        if (heartsCollected > 0) {
+            player.healHearts(heartsCollected);
+        }
     }
 
     /**
@@ -337,22 +451,6 @@ public class Playing extends State implements StateMethods {
         }
     }
 
-    private void spikeManagerUpdateAndCheck() {
-        // Skip spike damage if dev immunity is active
-        if (devImmunity) return;
-
-        long now = System.currentTimeMillis();
-        if (spikeManager.isPlayerOnSpike(player.getHitBox())) {
-            if (now - lastDamageMs > damageCooldownMs) {
-                player.takeHeartDamage(1);
-                lastDamageMs = now;
-                if (player.getHearts() <= 0 && !playerDead) {
-                    triggerDeath();
-                }
-            }
-        }
-    }
-
     private void handleBorderTransitions() {
         // Don't allow transition out of boss arena unless boss is defeated
         if (levelManager.isBossLevel()) {
@@ -363,19 +461,33 @@ public class Playing extends State implements StateMethods {
         // Get the level width
         int levelWidth = levelManager.getCurrentLevel().getLevelWidth() * TILES_SIZE;
 
+        // Past the preload point, build the next level with its spikes and pickups (and, before
+        // the arena, the boss with its assets) in the background so the transition below only
+        // swaps it in
+        if (playerRight() >= levelWidth * PRELOAD_AT) {
+            levelManager.preloadNext(levelManager.isNextBossLevel() ? bossPreparer : levelPreparer);
+        }
+
         // Transition when player reaches near the right edge of the level
         int threshold = levelWidth - (TILES_SIZE / 4);
         if (playerRight() >= threshold) {
             if (!levelManager.isLastLevel()) {
                 levelManager.nextLevel();
-                player.loadLevelData(levelManager.getCurrentLevel().getLevelData());
+                levels.Level level = levelManager.getCurrentLevel();
+                player.loadLevelData(level);
+
+                // Planned by the preloader; only planned here if the preload never ran
+                levels.Placements placements = preparedPlacements;
+                preparedPlacements = null;
+                if (placements == null) {
+                    placements = levels.Placements.plan(level, levelManager.isBossLevel(), placementRandom);
+                }
+                placementRandom = random.stream(GameRandom.Stream.PICKUPS).split();
 
                 // Check if entering boss level
                 if (levelManager.isBossLevel()) {
-                    // Clear regular enemies for boss level
-                    enemyManager = new EnemyManager(); // Reset to empty
-                    // Spawn extra hearts for boss fight (3 hearts as required)
-                    heartManager.spawnBossArenaHearts(levelManager.getCurrentLevel(), spikeManager);
+                    // Clear regular enemies for boss level (placements hold the 3 extra hearts)
+                    enemyManager.clear(); // Reset to empty
                     // Boss will be spawned in updateBossLevel()
                     boss = null;
                     bossDefeated = false;
@@ -384,18 +496,18 @@ public class Playing extends State implements StateMethods {
 
                     player.resetHeartsToFull();
                     bossIntroActive = true;
-                    bossIntroStartMs = System.currentTimeMillis();
+                    bossIntroStartMs = SimClock.millis();
                     boss = null;
                     bossDefeated = false;
 
                 } else {
-                    enemyManager.spawnForLevel(levelManager.getCurrentLevel());
-                    heartManager.spawnForLevel(levelManager.getCurrentLevel(), spikeManager);
+                    enemyManager.spawnForLevel(level);
                     setPlayerLeftStart();
                 }
 
-                spikeManager.spawnForLevel(levelManager.getCurrentLevel());
-                coinManager.spawnForLevel(levelManager.getCurrentLevel(), spikeManager);
+                spikeManager.spawn(placements);
+                coinManager.spawn(placements);
+                heartManager.spawn(placements);
                 cameraOffsetX = 0; // Reset camera to start of new level
             } else {
                 GameState.state = GameState.MENU;
@@ -456,7 +568,7 @@ public class Playing extends State implements StateMethods {
         playerDead = true;
         deathOverlay.activate();
         // Play death sound
-        util.SoundManager.play(util.SoundManager.SoundEffect.PLAYER_DEATH);
+        util.GameEvents.publish(util.GameEvents.Type.PLAYER_DEATH);
         // Optionally stop sounds / play death sound here
     }
 
@@ -466,17 +578,20 @@ public class Playing extends State implements StateMethods {
 
         // Reset everything to first level and respawn player
         levelManager.resetToFirstLevel();
-        player.loadLevelData(levelManager.getCurrentLevel().getLevelData());
+        player.loadLevelData(levelManager.getCurrentLevel());
         enemyManager.spawnForLevel(levelManager.getCurrentLevel());
         spikeManager.spawnForLevel(levelManager.getCurrentLevel());
         coinManager.spawnForLevel(levelManager.getCurrentLevel(), spikeManager);
         heartManager.spawnForLevel(levelManager.getCurrentLevel(), spikeManager);
+        placementRandom = random.stream(GameRandom.Stream.PICKUPS).split();
+        preparedPlacements = null;
         setPlayerLeftStart();
         player.resetHeartsToFull();
         player.resetBooleans();
 
-        // Reset boss state
+        // Reset boss state; a boss prepared for the abandoned run is dropped
         boss = null;
+        preparedBoss = null;
         bossDefeated = false;
 
         // Reset camera to beginning
@@ -709,14 +824,18 @@ public class Playing extends State implements StateMethods {
      */
     private void resetGameState() {
         gold = 0;
+        stats.reset();
+        levelManager.resetToFirstLevel();
         boss = null;
+        preparedBoss = null;
         bossDefeated = false;
-        levelManager.resetToFirstLevel();
-        player.loadLevelData(levelManager.getCurrentLevel().getLevelData());
+        player.loadLevelData(levelManager.getCurrentLevel());
         enemyManager.spawnForLevel(levelManager.getCurrentLevel());
         spikeManager.spawnForLevel(levelManager.getCurrentLevel());
         coinManager.spawnForLevel(levelManager.getCurrentLevel(), spikeManager);
         heartManager.spawnForLevel(levelManager.getCurrentLevel(), spikeManager);
+        placementRandom = random.stream(GameRandom.Stream.PICKUPS).split();
+        preparedPlacements = null;
         setPlayerLeftStart();
         player.resetHeartsToFull();
         player.resetBooleans();
@@ -725,7 +844,7 @@ public class Playing extends State implements StateMethods {
     }
 
     private void updateBossIntro() {
-        long now = System.currentTimeMillis();
+        long now = SimClock.millis();
         if (now - bossIntroStartMs >= BOSS_INTRO_DURATION_MS) {
             bossIntroActive = false;
         }
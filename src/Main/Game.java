@@ -11,7 +11,7 @@ public class Game implements Runnable{
     private GamePanel gamePanel;
     private Thread gameThread;
     private final int FPS = 120;
-    private final int UPS = 200;
+    private final int UPS = util.SimClock.TICKS_PER_SECOND;
     private Playing playing;
     private Menu menu;
     private Options options;
@@ -38,6 +38,8 @@ public class Game implements Runnable{
         // Initialize sound system and start background music
         util.SoundManager.init();
         util.SoundManager.startBackgroundMusic();
+        // Sound effects are played off the game loop thread from gameplay events
+        util.GameEvents.startAudio();
         
         menu = new Menu(this);
         playing = new Playing(this);
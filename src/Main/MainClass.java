@@ -2,6 +2,11 @@ package Main;
 
 public class MainClass {
     public static void main(String[] args) {
+        // -Dstress=true runs the headless scalability benchmark instead of the game
+        if (Boolean.getBoolean("stress")) {
+            StressScene.run();
+            return;
+        }
         new Game();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,214 @@
+package Main;
+
+import Entities.Boss;
+import Entities.BulletStore;
+import Entities.EnemyManager;
+import levels.CoinManager;
+import levels.Level;
+import levels.SpikeManager;
+import util.ActivityRegion;
+import util.ContactBuffer;
+import util.GameRandom;
+import util.LevelFactory;
+import util.SimClock;
+
+import java.awt.*;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Headless scalability benchmark, launched with {@code -Dstress=true}.
+ *
+ * For each enemy count N it builds an open level wide enough for N, fills it through the
+ * regular managers with N enemies, M coins, K spikes and a boss keeping P bullets in the
+ * air, then runs the simulation with a camera sweeping across the level. Each tick
+ * updates every manager and runs the player's contact queries; frames are rendered
+ * off-screen at the game's frame rate. Update and render times are printed per N and,
+ * with {@code -Dstress.out=<file>}, written as CSV.
+ *
+ * Tuning (system properties):
+ * <ul>
+ *   <li>{@code stress.counts} enemy counts, default {@code 10,100,1000,10000,100000}</li>
+ *   <li>{@code stress.coins}, {@code stress.spikes}, {@code stress.projectiles}: per-enemy
+ *       ratios for M, K and P, default 1, 0.25 and 1</li>
+ *   <li>{@code stress.ticks} measured ticks per N, default 600, after a quarter as many warm-up ticks</li>
+ *   <li>{@code stress.awake=true} keeps the whole level active instead of only the camera band</li>
+ * </ul>
+ */
+public class StressScene {
+    private static final int FPS = 120;
+    private static final int TILES_PER_ENEMY = 2;
+    private static final int MIN_WIDTH = 60;
+    private static final float CAMERA_SPEED = 4 * Game.SCALE;
+    private static final float BULLET_SPEED = 0.8f * Game.SCALE;
+
+    private final int enemies, coins, spikes, projectiles;
+    private final boolean awake;
+    private final GameRandom random = new GameRandom();
+
+    private Level level;
+    private EnemyManager enemyManager;
+    private CoinManager coinManager;
+    private SpikeManager spikeManager;
+    private Boss boss;
+    private final ActivityRegion activity = new ActivityRegion();
+    private final Rectangle2D.Float player = new Rectangle2D.Float(0, 0, 60, 60);
+    private final ContactBuffer contacts = new ContactBuffer(256);
+    private int cameraX = 0;
+    private int levelWidthPx;
+
+    private StressScene(int enemies, int coins, int spikes, int projectiles, boolean awake) {
+        this.enemies = enemies;
+        this.coins = coins;
+        this.spikes = spikes;
+        this.projectiles = projectiles;
+        this.awake = awake;
+    }
+
+    public static void run() {
+        // Nothing is shown; render into images only
+        System.setProperty("java.awt.headless", "true");
+
+        int[] counts = parseCounts(System.getProperty("stress.counts", "10,100,1000,10000,100000"));
+        double coinRatio = Double.parseDouble(System.getProperty("stress.coins", "1"));
+        double spikeRatio = Double.parseDouble(System.getProperty("stress.spikes", "0.25"));
+        double shotRatio = Double.parseDouble(System.getProperty("stress.projectiles", "1"));
+        int ticks = Integer.getInteger("stress.ticks", 600);
+        boolean awake = Boolean.getBoolean("stress.awake");
+        String out = System.getProperty("stress.out");
+
+        String header = "enemies,coins,spikes,projectiles,width_tiles,update_ms_mean,update_ms_p99,render_ms_mean,ticks_per_s";
+        System.out.println(header);
+        StringBuilder csv = new StringBuilder(header).append('\n');
+        for (int n : counts) {
+            StressScene scene = new StressScene(n, (int) (n * coinRatio), (int) (n * spikeRatio),
+                    (int) (n * shotRatio), awake);
+            String row = scene.measure(ticks);
+            System.out.println(row);
+            csv.append(row).append('\n');
+        }
+
+        if (out != null) {
+            try (PrintWriter w = new PrintWriter(new FileWriter(out))) {
+                w.print(csv);
+            } catch (IOException e) {
+                System.err.println("[Stress] Could not write " + out + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private static int[] parseCounts(String list) {
+        return Arrays.stream(list.split(",")).map(String::trim).filter(s -> !s.isEmpty())
+                .mapToInt(Integer::parseInt).toArray();
+    }
+
+    private void populate() {
+        int widthTiles = Math.max(MIN_WIDTH, enemies * TILES_PER_ENEMY);
+        level = new Level(LevelFactory.stressField(widthTiles));
+        levelWidthPx = widthTiles * Game.TILES_SIZE;
+        SimClock.reset();
+
+        enemyManager = new EnemyManager(random.stream(GameRandom.Stream.ENEMIES));
+        enemyManager.setActivityRegion(activity);
+        enemyManager.spawnRandom(level, enemies);
+
+        spikeManager = new SpikeManager();
+        spikeManager.spawnEvenly(level, spikes);
+
+        coinManager = new CoinManager(random.stream(GameRandom.Stream.PICKUPS));
+        coinManager.spawnRandom(level, coins);
+
+        int bossSize = (int) (64 * Game.SCALE);
+        boss = new Boss(levelWidthPx / 2f, 4 * Game.TILES_SIZE, bossSize, bossSize, level,
+                random.stream(GameRandom.Stream.BOSS), Math.max(1, projectiles));
+        boss.setPlayerHitBox(player);
+    }
+
+    private String measure(int ticks) {
+        populate();
+        BufferedImage frame = new BufferedImage(Game.GAME_WIDTH, Game.GAME_HEIGHT, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = frame.createGraphics();
+
+        int warmup = ticks / 4;
+        for (int t = 0; t < warmup; t++) tick();
+
+        long[] updateNs = new long[ticks];
+        long renderNs = 0;
+        int frames = 0;
+        for (int t = 0; t < ticks; t++) {
+            long start = System.nanoTime();
+            tick();
+            updateNs[t] = System.nanoTime() - start;
+
+            // Render at the game's frame rate, not every update
+            if ((long) t * FPS / SimClock.TICKS_PER_SECOND != (long) (t + 1) * FPS / SimClock.TICKS_PER_SECOND) {
+                start = System.nanoTime();
+                render(g);
+                renderNs += System.nanoTime() - start;
+                frames++;
+            }
+        }
+        g.dispose();
+
+        long total = 0;
+        for (long ns : updateNs) total += ns;
+        Arrays.sort(updateNs);
+        double mean = total / 1e6 / ticks;
+        double p99 = updateNs[Math.min(ticks - 1, (int) (ticks * 0.99))] / 1e6;
+        double render = frames == 0 ? 0 : renderNs / 1e6 / frames;
+        return String.format(Locale.ROOT, "%d,%d,%d,%d,%d,%.3f,%.3f,%.3f,%.0f",
+                enemies, coinManager.size(), spikeManager.getSpikes().size(), projectiles,
+                level.getLevelWidth(), mean, p99, render, 1000.0 / mean);
+    }
+
+    private void tick() {
+        SimClock.advance();
+
+        // Camera sweeps the level back and forth; the "player" rides in its middle
+        int span = Math.max(1, levelWidthPx - Game.GAME_WIDTH);
+        int pos = (int) (SimClock.ticks() * CAMERA_SPEED) % (2 * span);
+        cameraX = pos < span ? pos : 2 * span - pos;
+        player.x = cameraX + Game.GAME_WIDTH / 2f;
+        player.y = Game.GAME_HEIGHT / 2f;
+        if (awake) activity.everywhere();
+        else activity.follow(cameraX);
+
+        enemyManager.update();
+        topUpBullets();
+        boss.update();
+
+        contacts.clear();
+        enemyManager.collectEnemyContacts(player, 0, contacts);
+        enemyManager.collectProjectileContacts(player, 1, contacts);
+        coinManager.collectContacts(player, 2, contacts);
+        spikeManager.collectContacts(player, 3, contacts);
+        boss.collectProjectileContacts(player, 4, contacts);
+    }
+
+    // Replaces spent bullets so P stay in flight, scattered over the open air of the level
+    private void topUpBullets() {
+        BulletStore bullets = boss.getBullets();
+        SplittableRandom rng = random.stream(GameRandom.Stream.UI);
+        int airHeight = (Game.TILES_HEIGHT - 3) * Game.TILES_SIZE;
+        while (bullets.size() < projectiles) {
+            float x = Game.TILES_SIZE + rng.nextInt(Math.max(1, levelWidthPx - 2 * Game.TILES_SIZE));
+            float y = Game.TILES_SIZE + rng.nextInt(airHeight);
+            if (!bullets.fire(x, y, rng.nextInt(BulletStore.ANGLES), BULLET_SPEED)) break;
+        }
+    }
+
+    private void render(Graphics g) {
+        g.setColor(Color.BLACK);
+        g.fillRect(0, 0, Game.GAME_WIDTH, Game.GAME_HEIGHT);
+        spikeManager.draw(g, cameraX);
+        coinManager.draw(g, cameraX);
+        enemyManager.draw(g, cameraX);
+        boss.render(g, cameraX);
+    }
+}
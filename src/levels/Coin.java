@@ -1,7 +1,7 @@
 package levels;
 
 import Main.Game;
-import java.awt.*;
+import util.Aabb;
 
 public class Coin {
     private final int x;
@@ -11,15 +11,25 @@ public class Coin {
     public static final int W = (int)(20 * Game.SCALE);
     public static final int H = (int)(20 * Game.SCALE);
 
+    // Pickups never move, so the bounds are built once instead of per query
+    private final Aabb bounds;
+
     public Coin(int x, int y) {
         this.x = x;
         this.y = y;
+        this.bounds = new Aabb(x, y, W, H);
     }
 
-    public Rectangle getBounds() {
-        return new Rectangle(x, y, W, H);
+    public Aabb getBounds() {
+        return bounds;
     }
 
+    // Set when the player picks this up; the manager removes it at the end of the tick
+    private boolean collected = false;
+
+    public void collect() { collected = true; }
+    public boolean isCollected() { return collected; }
+
     public int getX() { return x; }
     public int getY() { return y; }
 }
\ No newline at end of file
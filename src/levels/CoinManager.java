@@ -1,26 +1,33 @@
 package levels;
 
 import Main.Game;
+import util.Aabb;
+import util.AnimationClip;
+import util.ContactBuffer;
 import util.LoadSave;
+import util.SpatialGrid;
 
 import java.awt.*;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
 import static util.Helpmethods.*;
 
 public class CoinManager {
     private BufferedImage[] frames; // animation frames from coin sheet
-    private int frameIndex = 0;
-    private int tick = 0;
-    private final int animSpeed = 10; // ticks per frame
+    // Every pickup shares one clip started at tick 0, so they spin in sync
+    private AnimationClip spin;
 
     private final List<Coin> coins = new ArrayList<>();
-    private final Random rnd = new Random();
+    private final SplittableRandom rnd;
+    // Broad-phase over coins; rebuilt whenever the coin list changes
+    private final SpatialGrid grid = new SpatialGrid();
+    private int pendingRemovals = 0;
 
-    public CoinManager() {
+    public CoinManager(SplittableRandom rnd) {
+        this.rnd = rnd;
         loadFrames();
     }
 
@@ -32,10 +39,22 @@ public class CoinManager {
         for (int i = 0; i < frameCount; i++) {
             frames[i] = sheet.getSubimage(i * 20, 0, 20, 20);
         }
+        spin = new AnimationClip(frameCount, 10, true);
     }
 
     public void clear() {
         coins.clear();
+        rebuildGrid();
+    }
+
+    private void rebuildGrid() {
+        pendingRemovals = 0;
+        grid.clear();
+        for (int i = 0; i < coins.size(); i++) {
+            Coin c = coins.get(i);
+            grid.insert(c.getX(), c.getY(), Coin.W, Coin.H);
+        }
+        grid.build();
     }
 
     /**
@@ -45,31 +64,66 @@ public class CoinManager {
      */
     public void spawnForLevel(Level level, SpikeManager spikeManager) {
         coins.clear();
-        int[][] data = level.getLevelData();
-        if (data == null) return;
+        coins.addAll(place(level, spikeManager != null ? spikeManager.getSpikes() : List.of(), rnd));
+        rebuildGrid();
+    }
+
+    /** Replaces the coins with the ones planned ahead in {@code placements}. */
+    public void spawn(Placements placements) {
+        coins.clear();
+        coins.addAll(placements.coins);
+        rebuildGrid();
+    }
+
+    /**
+     * Replaces the coins with {@code count} coins on random surfaces across the whole level.
+     * No spacing or spike checks; meant for stress scenes.
+     */
+    public void spawnRandom(Level level, int count) {
+        coins.clear();
+        SurfaceMap surfaces = level.getSurfaceMap();
+        int levelWidth = level.getLevelWidth();
+        for (int i = 0; i < count && levelWidth > 0; i++) {
+            int xt = rnd.nextInt(levelWidth);
+            int groundYTile = surfaces.topSurface(xt);
+            if (groundYTile == SurfaceMap.NONE) continue;
+            int px = xt * Game.TILES_SIZE + (Game.TILES_SIZE - Coin.W) / 2;
+            int py = groundYTile * Game.TILES_SIZE - Coin.H - (int)(4 * Game.SCALE);
+            coins.add(new Coin(px, py));
+        }
+        rebuildGrid();
+    }
+
+    public int size() {
+        return coins.size();
+    }
+
+    /** Coins for {@link #spawnForLevel}; touches no manager state, so it can run on the level preloader. */
+    static List<Coin> place(Level level, List<Spike> spikes, SplittableRandom rnd) {
+        List<Coin> coins = new ArrayList<>();
+        Aabb coinRect = new Aabb();
+        SurfaceMap surfaces = level.getSurfaceMap();
 
         int spawnCount = Math.max(5, Game.TILES_WIDTH / 6); // tweak how many coins you'd like per level
         int attempts = spawnCount * 6;
 
         for (int i = 0; i < attempts && coins.size() < spawnCount; i++) {
             int xt = rnd.nextInt(Game.TILES_WIDTH);
-            int groundYTile = findGroundYTile(data, xt);
-            if (groundYTile == -1) continue;
+            int groundYTile = surfaces.topSurface(xt);
+            if (groundYTile == SurfaceMap.NONE) continue;
 
             int px = xt * Game.TILES_SIZE + (Game.TILES_SIZE - Coin.W) / 2;
             int py = groundYTile * Game.TILES_SIZE - Coin.H - (int)(4 * Game.SCALE);
 
-            if (!CanMoveHere(px, py, Coin.W, Coin.H, data)) continue;
+            if (!CanMoveHere(px, py, Coin.W, Coin.H, level.getSolidGrid())) continue;
 
             // Skip placement if this coin would overlap any spike
-            Rectangle coinRect = new Rectangle(px, py, Coin.W, Coin.H);
+            coinRect.set(px, py, Coin.W, Coin.H);
             boolean overlapsSpike = false;
-            if (spikeManager != null) {
-                for (Spike s : spikeManager.getSpikes()) {
-                    if (coinRect.intersects(s.getBounds())) {
-                        overlapsSpike = true;
-                        break;
-                    }
+            for (Spike s : spikes) {
+                if (coinRect.overlaps(s.getBounds())) {
+                    overlapsSpike = true;
+                    break;
                 }
             }
             if (overlapsSpike) continue;
@@ -77,65 +131,61 @@ public class CoinManager {
             // Avoid placing coins too close to each other
             boolean tooClose = false;
             for (Coin c : coins) {
-                Rectangle r = c.getBounds();
-                if (Math.abs(r.x - px) < Coin.W * 1.2f && Math.abs(r.y - py) < Coin.H * 1.2f) {
+                if (Math.abs(c.getX() - px) < Coin.W * 1.2f && Math.abs(c.getY() - py) < Coin.H * 1.2f) {
                     tooClose = true;
                     break;
                 }
             }
             if (!tooClose) coins.add(new Coin(px, py));
         }
-    }
-
-    private int findGroundYTile(int[][] data, int xTile) {
-        for (int y = 0; y < Game.TILES_HEIGHT; y++) {
-            int idx = data[y][xTile];
-            boolean solid = (idx != 11);
-            if (solid) {
-                return y;
-            }
-        }
-        return -1;
+        return coins;
     }
 
     /**
-     * Checks player hitbox against coins; removes collected coins and returns how many were collected.
+     * Contact source for the collision stage: one event per coin overlapping the probe.
      */
-    public int collectIfPlayerTouches(Rectangle2D.Float playerHB) {
-        Rectangle playerRect = new Rectangle((int)playerHB.x, (int)playerHB.y, (int)playerHB.width, (int)playerHB.height);
-        int collected = 0;
-        List<Coin> removed = new ArrayList<>();
-        for (Coin c : coins) {
-            if (playerRect.intersects(c.getBounds())) {
-                collected++;
-                removed.add(c);
-                // Play coin collection sound
-                util.SoundManager.play(util.SoundManager.SoundEffect.COIN_COLLECT);
+    public void collectContacts(Rectangle2D.Float probe, int type, ContactBuffer out) {
+        int n = grid.query(probe.x, probe.y, probe.width, probe.height);
+        for (int i = 0; i < n; i++) {
+            int id = grid.result(i);
+            if (coins.get(id).getBounds().overlaps(probe)) {
+                out.add(type, id);
             }
         }
-        if (!removed.isEmpty()) coins.removeAll(removed);
-        return collected;
     }
 
-    public void update() {
-        if (frames == null || frames.length == 0) return;
-        tick++;
-        if (tick >= animSpeed) {
-            tick = 0;
-            frameIndex++;
-            if (frameIndex >= frames.length) frameIndex = 0;
-        }
+    /** Marks a touched coin as picked up; it is removed by {@link #removeCollected()}. */
+    public void collect(int index) {
+        Coin c = coins.get(index);
+        if (c.isCollected()) return;
+        c.collect();
+        pendingRemovals++;
+        // Play coin collection sound
+        util.GameEvents.publish(util.GameEvents.Type.COIN_COLLECT);
+    }
+
+    /** Removes every coin marked this tick and returns how many there were. */
+    public int removeCollected() {
+        // Nothing picked up this tick: skip the scan
+        if (pendingRemovals == 0) return 0;
+        int removed = pendingRemovals;
+        pendingRemovals = 0;
+        coins.removeIf(Coin::isCollected);
+        rebuildGrid();
+        return removed;
     }
 
     public void draw(Graphics g, int cameraOffsetX) {
         if (frames == null || frames.length == 0) return;
+        BufferedImage frame = frames[spin.frame(0)];
         for (Coin c : coins) {
             int drawX = c.getX() - cameraOffsetX;
-            g.drawImage(frames[frameIndex], drawX, c.getY(), Coin.W, Coin.H, null);
+            g.drawImage(frame, drawX, c.getY(), Coin.W, Coin.H, null);
         }
     }
 
     public void clearAll() {
         coins.clear();
+        rebuildGrid();
     }
 }
\ No newline at end of file
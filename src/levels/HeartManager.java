@@ -1,13 +1,18 @@
 package levels;
 
 import Main.Game;
+import util.Aabb;
+import util.AnimationClip;
+import util.ContactBuffer;
 import util.LoadSave;
+import util.SpatialGrid;
 
 import java.awt.*;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.SplittableRandom;
 import static util.Helpmethods.*;
 
 /**
@@ -16,16 +21,17 @@ import static util.Helpmethods.*;
  */
 public class HeartManager {
     private BufferedImage[] frames; // animation frames from heart sheet
-    private int frameIndex = 0;
-    private int tick = 0;
-    private final int animSpeed = 10; // ticks per frame
+    // Every pickup shares one clip started at tick 0, so they spin in sync
+    private AnimationClip spin;
 
     private final List<Heart> hearts = new ArrayList<>();
+    // Broad-phase over hearts; rebuilt whenever the heart list changes
+    private final SpatialGrid grid = new SpatialGrid();
+    private int pendingRemovals = 0;
     
     // Constants for heart placement
     private static final float HEART_PLACEMENT_RATIO = 0.7f; // Place at 70% through level
     private static final int HEART_Y_OFFSET = 4; // Offset above ground in Game.SCALE units
-    private static final int AIR_TILE_INDEX = 11; // Index for passable air tiles
 
     public HeartManager() {
         loadFrames();
@@ -40,10 +46,22 @@ public class HeartManager {
         for (int i = 0; i < frameCount; i++) {
             frames[i] = sheet.getSubimage(i * 16, 0, 16, 16);
         }
+        spin = new AnimationClip(frameCount, 10, true);
     }
 
     public void clear() {
         hearts.clear();
+        rebuildGrid();
+    }
+
+    private void rebuildGrid() {
+        pendingRemovals = 0;
+        grid.clear();
+        for (int i = 0; i < hearts.size(); i++) {
+            Heart h = hearts.get(i);
+            grid.insert(h.getX(), h.getY(), Heart.W, Heart.H);
+        }
+        grid.build();
     }
 
     /**
@@ -52,9 +70,22 @@ public class HeartManager {
      */
     public void spawnForLevel(Level level, SpikeManager spikeManager) {
         hearts.clear();
-        int[][] data = level.getLevelData();
-        if (data == null) return;
+        hearts.addAll(placeLevelHeart(level, spikeManager != null ? spikeManager.getSpikes() : List.of()));
+        rebuildGrid();
+    }
+
+    /** Replaces the hearts with the ones planned ahead in {@code placements}. */
+    public void spawn(Placements placements) {
+        hearts.clear();
+        hearts.addAll(placements.hearts);
+        rebuildGrid();
+    }
 
+    /** The heart for {@link #spawnForLevel}; touches no manager state, so it can run on the level preloader. */
+    static List<Heart> placeLevelHeart(Level level, List<Spike> spikes) {
+        List<Heart> hearts = new ArrayList<>();
+        Aabb heartRect = new Aabb();
+        SurfaceMap surfaces = level.getSurfaceMap();
         int levelWidth = level.getLevelWidth();
         
         // Place heart at approximately 70% through the level
@@ -66,81 +97,82 @@ public class HeartManager {
             int xt = targetX + attempt - 5; // Try nearby tiles
             if (xt < 0 || xt >= levelWidth) continue;
             
-            int groundYTile = findGroundYTile(data, xt);
-            if (groundYTile == -1) continue;
+            int groundYTile = surfaces.topSurface(xt);
+            if (groundYTile == SurfaceMap.NONE) continue;
 
             int px = xt * Game.TILES_SIZE + (Game.TILES_SIZE - Heart.W) / 2;
             int py = groundYTile * Game.TILES_SIZE - Heart.H - (int)(HEART_Y_OFFSET * Game.SCALE);
 
-            if (!CanMoveHere(px, py, Heart.W, Heart.H, data)) continue;
+            if (!CanMoveHere(px, py, Heart.W, Heart.H, level.getSolidGrid())) continue;
 
             // Skip placement if this heart would overlap any spike
-            Rectangle heartRect = new Rectangle(px, py, Heart.W, Heart.H);
+            heartRect.set(px, py, Heart.W, Heart.H);
             boolean overlapsSpike = false;
-            if (spikeManager != null) {
-                for (Spike s : spikeManager.getSpikes()) {
-                    if (heartRect.intersects(s.getBounds())) {
-                        overlapsSpike = true;
-                        break;
-                    }
+            for (Spike s : spikes) {
+                if (heartRect.overlaps(s.getBounds())) {
+                    overlapsSpike = true;
+                    break;
                 }
             }
             if (!overlapsSpike) {
                 hearts.add(new Heart(px, py));
-                return; // Successfully placed one heart
+                return hearts; // Successfully placed one heart
             }
         }
         
         // Fallback: place at a safe starting position if no good spot found
         int fallbackX = 10;
-        int groundYTile = findGroundYTile(data, fallbackX);
-        if (groundYTile != -1) {
+        int groundYTile = surfaces.topSurface(fallbackX);
+        if (groundYTile != SurfaceMap.NONE) {
             int px = fallbackX * Game.TILES_SIZE + (Game.TILES_SIZE - Heart.W) / 2;
             int py = groundYTile * Game.TILES_SIZE - Heart.H - (int)(HEART_Y_OFFSET * Game.SCALE);
             hearts.add(new Heart(px, py));
         }
-    }
-
-    private int findGroundYTile(int[][] data, int xTile) {
-        for (int y = 0; y < Game.TILES_HEIGHT; y++) {
-            if (xTile < 0 || xTile >= data[0].length) return -1;
-            int idx = data[y][xTile];
-            boolean solid = (idx != AIR_TILE_INDEX);
-            if (solid) {
-                return y;
-            }
-        }
-        return -1;
+        return hearts;
     }
 
     /**
-     * Checks player hitbox against hearts; removes collected hearts and returns how many were collected.
+     * Contact source for the collision stage: one event per heart overlapping the probe.
      */
-    public int collectIfPlayerTouches(Rectangle2D.Float playerHB) {
-        Rectangle playerRect = new Rectangle((int)playerHB.x, (int)playerHB.y, (int)playerHB.width, (int)playerHB.height);
-        int collected = 0;
-        List<Heart> removed = new ArrayList<>();
-        for (Heart h : hearts) {
-            if (playerRect.intersects(h.getBounds())) {
-                collected++;
-                removed.add(h);
-                // Play collection sound (reuse coin sound or add specific heart sound)
-                util.SoundManager.play(util.SoundManager.SoundEffect.COIN_COLLECT);
+    public void collectContacts(Rectangle2D.Float probe, int type, ContactBuffer out) {
+        int n = grid.query(probe.x, probe.y, probe.width, probe.height);
+        for (int i = 0; i < n; i++) {
+            int id = grid.result(i);
+            if (hearts.get(id).getBounds().overlaps(probe)) {
+                out.add(type, id);
             }
         }
-        if (!removed.isEmpty()) hearts.removeAll(removed);
-        return collected;
+    }
+
+    /** Marks a touched heart as picked up; it is removed by {@link #removeCollected()}. */
+    public void collect(int index) {
+        Heart h = hearts.get(index);
+        if (h.isCollected()) return;
+        h.collect();
+        pendingRemovals++;
+        // Play collection sound (reuse coin sound or add specific heart sound)
+        util.GameEvents.publish(util.GameEvents.Type.HEART_COLLECT);
+    }
+
+    /** Removes every heart marked this tick and returns how many there were. */
+    public int removeCollected() {
+        // Nothing picked up this tick: skip the scan
+        if (pendingRemovals == 0) return 0;
+        int removed = pendingRemovals;
+        pendingRemovals = 0;
+        hearts.removeIf(Heart::isCollected);
+        rebuildGrid();
+        return removed;
     }
     
     /**
-     * Spawn multiple hearts in the boss arena (at least 3).
-     * Places hearts at strategic positions for the boss fight.
+     * Multiple hearts for the boss arena (at least 3), at strategic positions for the boss
+     * fight. Touches no manager state, so it can run on the level preloader.
      */
-    public void spawnBossArenaHearts(Level level, SpikeManager spikeManager) {
-        hearts.clear();
-        int[][] data = level.getLevelData();
-        if (data == null) return;
-
+    static List<Heart> placeBossArenaHearts(Level level, List<Spike> spikes, SplittableRandom rnd) {
+        List<Heart> hearts = new ArrayList<>();
+        Aabb heartRect = new Aabb();
+        SurfaceMap surfaces = level.getSurfaceMap();
         int levelWidth = level.getLevelWidth();
         
         // Boss arena heart positions (strategic locations for the fight)
@@ -157,23 +189,21 @@ public class HeartManager {
                 int xt = targetX + attempt - 4;
                 if (xt < 3 || xt >= levelWidth - 3) continue; // Avoid walls
                 
-                int groundYTile = findGroundYTile(data, xt);
-                if (groundYTile == -1) continue;
+                int groundYTile = surfaces.topSurface(xt);
+                if (groundYTile == SurfaceMap.NONE) continue;
 
                 int px = xt * Game.TILES_SIZE + (Game.TILES_SIZE - Heart.W) / 2;
                 int py = groundYTile * Game.TILES_SIZE - Heart.H - (int)(HEART_Y_OFFSET * Game.SCALE);
 
-                if (!CanMoveHere(px, py, Heart.W, Heart.H, data)) continue;
+                if (!CanMoveHere(px, py, Heart.W, Heart.H, level.getSolidGrid())) continue;
 
                 // Skip placement if this heart would overlap any spike
-                Rectangle heartRect = new Rectangle(px, py, Heart.W, Heart.H);
+                heartRect.set(px, py, Heart.W, Heart.H);
                 boolean overlapsSpike = false;
-                if (spikeManager != null) {
-                    for (Spike s : spikeManager.getSpikes()) {
-                        if (heartRect.intersects(s.getBounds())) {
-                            overlapsSpike = true;
-                            break;
-                        }
+                for (Spike s : spikes) {
+                    if (heartRect.overlaps(s.getBounds())) {
+                        overlapsSpike = true;
+                        break;
                     }
                 }
                 
@@ -196,35 +226,28 @@ public class HeartManager {
         
         // Ensure at least 3 hearts are placed
         while (hearts.size() < 3) {
-            int randomX = 5 + (int)(Math.random() * (levelWidth - 10));
-            int groundYTile = findGroundYTile(data, randomX);
-            if (groundYTile != -1) {
+            int randomX = 5 + rnd.nextInt(levelWidth - 10);
+            int groundYTile = surfaces.topSurface(randomX);
+            if (groundYTile != SurfaceMap.NONE) {
                 int px = randomX * Game.TILES_SIZE + (Game.TILES_SIZE - Heart.W) / 2;
                 int py = groundYTile * Game.TILES_SIZE - Heart.H - (int)(HEART_Y_OFFSET * Game.SCALE);
                 hearts.add(new Heart(px, py));
             }
         }
-    }
-
-    public void update() {
-        if (frames == null || frames.length == 0) return;
-        tick++;
-        if (tick >= animSpeed) {
-            tick = 0;
-            frameIndex++;
-            if (frameIndex >= frames.length) frameIndex = 0;
-        }
+        return hearts;
     }
 
     public void draw(Graphics g, int cameraOffsetX) {
         if (frames == null || frames.length == 0) return;
+        BufferedImage frame = frames[spin.frame(0)];
         for (Heart h : hearts) {
             int drawX = h.getX() - cameraOffsetX;
-            g.drawImage(frames[frameIndex], drawX, h.getY(), Heart.W, Heart.H, null);
+            g.drawImage(frame, drawX, h.getY(), Heart.W, Heart.H, null);
         }
     }
 
     public void clearAll() {
         hearts.clear();
+        rebuildGrid();
     }
 }
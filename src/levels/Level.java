@@ -1,20 +1,105 @@
 package levels;
 
+import util.LevelFactory;
 
 public class Level {
-    private int[][] levelData;
+    private final TileChunkStore chunks;
+    private final int width, height;
+    private final TileProperties props;
+    private final SpawnTable spawns;
+    private final SolidGrid solidGrid;
+    private final SolidGrid bossSolidGrid;
+    private final SurfaceMap surfaceMap;
     public Level(int[][] levelData){
-        this.levelData = levelData;
+        this(levelData, TileProperties.DEFAULT);
     }
+
+    public Level(int[][] levelData, TileProperties props){
+        this(TileLayer.of(levelData), props, SpawnTable.EMPTY);
+    }
+
+    public Level(TileLayer tiles, TileProperties props, SpawnTable spawns){
+        this.width = tiles.getWidth();
+        this.height = tiles.getHeight();
+        this.props = props;
+        this.spawns = spawns;
+        // Solid tiles block the player and enemies
+        this.solidGrid = new SolidGrid(tiles, props, TileProperties.SOLID, 0);
+        // The flying boss passes through boss-passable tiles (platforms)
+        this.bossSolidGrid = new SolidGrid(tiles, props, TileProperties.SOLID, TileProperties.BOSS_PASSABLE);
+        // Standable surfaces per column, shared by every spawner
+        this.surfaceMap = new SurfaceMap(solidGrid, tiles, props);
+        // Tile ids are only needed for drawing; they're streamed in chunks around the camera.
+        // The grids above stay whole (a bit per tile), so collision never waits on a chunk.
+        this.chunks = new TileChunkStore(tiles, TileChunkStore.DEFAULT_CAPACITY);
+    }
+
+    // Same tiles and grids, other spawn points
+    private Level(Level base, SpawnTable spawns){
+        this.chunks = base.chunks;
+        this.width = base.width;
+        this.height = base.height;
+        this.props = base.props;
+        this.spawns = spawns;
+        this.solidGrid = base.solidGrid;
+        this.bossSolidGrid = base.bossSolidGrid;
+        this.surfaceMap = base.surfaceMap;
+    }
+
+    /** This level with the given spawn table; tiles and collision grids are shared. */
+    public Level withSpawns(SpawnTable spawns){
+        return new Level(this, spawns);
+    }
+
+    /**
+     * Sprite of the tile at row x, column y. While the tile's chunk is still being decoded
+     * this is plain ground or air, matching what the tile collides as.
+     */
     public int getSpriteIndex(int x,int y){
-        return levelData[x][y];
+        int id = chunks.tile(y, x);
+        if (id != TileChunkStore.MISSING) return id;
+        return solidGrid.isSolid(y, x) ? LevelFactory.GROUND : LevelFactory.AIR;
+    }
+
+    /**
+     * Streams in the chunks for the visible columns, plus one chunk either side so scrolling
+     * finds its tiles already decoded.
+     */
+    public void focus(int firstColumn, int lastColumn) {
+        chunks.focus(firstColumn - TileChunkStore.CHUNK_WIDTH, lastColumn + TileChunkStore.CHUNK_WIDTH);
     }
-    public int[][] getLevelData(){
-           return levelData;
+
+    /** Decodes the whole tile layer; for tools such as {@link LevelFile#write}. */
+    public TileLayer getTiles(){
+        return chunks.toLayer();
     }
-    
+
+    public TileProperties getProperties() {
+        return props;
+    }
+
+    /** Spawn points loaded with the level; empty for levels built in code. */
+    public SpawnTable getSpawns() {
+        return spawns;
+    }
+
+    public SolidGrid getSolidGrid() {
+        return solidGrid;
+    }
+
+    public SolidGrid getBossSolidGrid() {
+        return bossSolidGrid;
+    }
+
+    public SurfaceMap getSurfaceMap() {
+        return surfaceMap;
+    }
+
     public int getLevelWidth() {
-        if (levelData == null || levelData.length == 0) return 0;
-        return levelData[0].length;
+        return width;
+    }
+
+    public int getLevelHeight() {
+        return height;
     }
 }
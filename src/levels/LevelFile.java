@@ -0,0 +1,121 @@
+package levels;
+
+import Main.Game;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary level format, loaded by memory-mapping the file.
+ *
+ * Layout (big-endian):
+ * <pre>
+ *   header   magic "LVL1", version (short), reserved (short),
+ *            width, height, property count, spawn count (ints)
+ *   tiles    width * height tile ids, one byte each, row-major
+ *   props    one {@link TileProperties} flag byte per tile id
+ *   spawns   spawn count * {@link SpawnTable#ENTRY_BYTES} byte entries
+ * </pre>
+ *
+ * Loading maps the file read-only and hands slices of the mapping to the level: the spawn
+ * table reads from the page cache directly, only the small property table is copied. The
+ * tile layer is read once, sequentially, to build the collision grids and the level's
+ * {@link TileChunkStore}.
+ *
+ * A level must be {@link Game#TILES_HEIGHT} rows high and only use ids of the level
+ * tileset; anything else is rejected when the file is read.
+ */
+public class LevelFile {
+    public static final int MAGIC = 0x4C564C31; // "LVL1"
+    public static final short VERSION = 1;
+    public static final int HEADER_BYTES = 24;
+
+    private LevelFile() { }
+
+    /** File name of the built-in level at {@code index} (0-based) in a levels directory. */
+    public static String fileName(int index) {
+        return "level" + (index + 1) + ".lvl";
+    }
+
+    public static Level load(Path path) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            return read(buf, path.toString());
+        }
+    }
+
+    /** Reads a level from an in-memory or mapped image of the file. */
+    public static Level read(ByteBuffer buf, String name) throws IOException {
+        if (buf.capacity() < HEADER_BYTES || buf.getInt(0) != MAGIC) {
+            throw new IOException(name + ": not a level file");
+        }
+        if (buf.getShort(4) != VERSION) {
+            throw new IOException(name + ": unsupported level version " + buf.getShort(4));
+        }
+        int width = buf.getInt(8);
+        int height = buf.getInt(12);
+        int propCount = buf.getInt(16);
+        int spawnCount = buf.getInt(20);
+        if (width < 0 || height < 0 || propCount < 0 || spawnCount < 0) {
+            throw new IOException(name + ": corrupt header");
+        }
+        // The renderer and the level logic draw exactly one screen of rows
+        if (height != Game.TILES_HEIGHT) {
+            throw new IOException(name + ": level is " + height + " rows high, expected " + Game.TILES_HEIGHT);
+        }
+
+        long tileBytes = (long) width * height;
+        long expected = HEADER_BYTES + tileBytes + propCount + (long) spawnCount * SpawnTable.ENTRY_BYTES;
+        if (expected != buf.capacity()) {
+            throw new IOException(name + ": expected " + expected + " bytes, found " + buf.capacity());
+        }
+
+        // Ids past the level atlas would be drawn with a sprite that doesn't exist
+        for (int i = 0; i < tileBytes; i++) {
+            int id = buf.get(HEADER_BYTES + i) & 0xFF;
+            if (id >= TileProperties.TILESET_SIZE) {
+                throw new IOException(name + ": tile id " + id + " at " + (i % width) + "," + (i / width)
+                        + " is outside the tileset");
+            }
+        }
+
+        int propsAt = HEADER_BYTES + (int) tileBytes;
+        int spawnsAt = propsAt + propCount;
+        TileLayer tiles = new TileLayer(buf.slice(HEADER_BYTES, (int) tileBytes), width, height);
+        TileProperties props = new TileProperties(propCount);
+        for (int id = 0; id < propCount; id++) props.set(id, buf.get(propsAt + id));
+        SpawnTable spawns = new SpawnTable(buf.slice(spawnsAt, spawnCount * SpawnTable.ENTRY_BYTES), spawnCount);
+        return new Level(tiles, props, spawns);
+    }
+
+    public static void write(Path path, Level level) throws IOException {
+        TileLayer tiles = level.getTiles();
+        TileProperties props = level.getProperties();
+        SpawnTable spawns = level.getSpawns();
+        int tileBytes = tiles.getWidth() * tiles.getHeight();
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC).putShort(VERSION).putShort((short) 0)
+                .putInt(tiles.getWidth()).putInt(tiles.getHeight())
+                .putInt(props.size()).putInt(spawns.size());
+        header.flip();
+
+        ByteBuffer propBytes = ByteBuffer.allocate(props.size());
+        for (int id = 0; id < props.size(); id++) propBytes.put(id, (byte) props.flags(id));
+
+        ByteBuffer tileBuf = tiles.buffer().position(0).limit(tileBytes);
+        ByteBuffer spawnBuf = spawns.buffer().position(0).limit(spawns.size() * SpawnTable.ENTRY_BYTES);
+
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (ByteBuffer part : new ByteBuffer[] { header, tileBuf, propBytes, spawnBuf }) {
+                while (part.hasRemaining()) ch.write(part);
+            }
+        }
+    }
+}
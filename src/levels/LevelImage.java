@@ -0,0 +1,192 @@
+package levels;
+
+import Main.Game;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.Raster;
+import java.awt.image.SampleModel;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Imports a level drawn as an image, one pixel per tile: any width, {@link Game#TILES_HEIGHT}
+ * rows high, since the renderer and the level logic work on one screen of rows.
+ *
+ * <ul>
+ *   <li>red: tile id. Ids past the level atlas become tile 0, as in the original importer.</li>
+ *   <li>green ({@link #ENTITIES}): spawn point, {@code type << 4 | variant} with a
+ *       {@link SpawnTable} type, 0 for none. The pixel is the cell the entity stands in;
+ *       its surface is the row below.</li>
+ *   <li>blue ({@link #PROPERTIES}): {@code 0x80 | flags} overrides the
+ *       {@link TileProperties} of the pixel's tile id, 0 keeps the default.</li>
+ * </ul>
+ * Green and blue are only read when asked for, so images that only paint tile ids (whose
+ * other channels hold arbitrary colour) still import.
+ *
+ * Pixels are read straight from the raster's {@link DataBuffer} for the usual interleaved
+ * byte and packed int layouts; anything else (e.g. palette images) is converted with one
+ * bulk {@code getRGB} call. The result is decoded directly into a {@link TileLayer} and
+ * {@link SpawnTable}, without an intermediate {@code int[][]}.
+ */
+public class LevelImage {
+    /** Read spawn points from the green channel. */
+    public static final int ENTITIES = 1;
+    /** Read tile property overrides from the blue channel. */
+    public static final int PROPERTIES = 1 << 1;
+    public static final int ALL_CHANNELS = ENTITIES | PROPERTIES;
+
+    private static final int EXPLICIT = 0x80;
+
+    private LevelImage() { }
+
+    /** File name of the built-in level at {@code index} (0-based) in a levels directory. */
+    public static String fileName(int index) {
+        return "level" + (index + 1) + ".png";
+    }
+
+    public static Level read(BufferedImage img, int channels, String name) throws IOException {
+        int width = img.getWidth();
+        int height = img.getHeight();
+        if (height != Game.TILES_HEIGHT) {
+            throw new IOException(name + ": image is " + height + " pixels high, expected " + Game.TILES_HEIGHT);
+        }
+        ByteBuffer tiles = ByteBuffer.allocate(width * height);
+        Decoder d = new Decoder(width, channels, name);
+
+        // Red, green and blue sample of every pixel of a row, gathered in bulk
+        int[] r = new int[width], g = new int[width], b = new int[width];
+        Raster raster = img.getRaster();
+        SampleModel sm = raster.getSampleModel();
+        DataBuffer db = raster.getDataBuffer();
+
+        if (db instanceof DataBufferByte && sm instanceof ComponentSampleModel
+                && raster.getParent() == null && sm.getNumBands() >= 3 && isRgbOrder(img)) {
+            ComponentSampleModel csm = (ComponentSampleModel) sm;
+            byte[] data = ((DataBufferByte) db).getData(0);
+            int[] bandOffsets = csm.getBandOffsets();
+            int stride = csm.getPixelStride();
+            int scanline = csm.getScanlineStride();
+            int base = db.getOffset();
+            for (int y = 0; y < height; y++) {
+                int at = base + y * scanline;
+                for (int x = 0; x < width; x++, at += stride) {
+                    r[x] = data[at + bandOffsets[0]] & 0xFF;
+                    g[x] = data[at + bandOffsets[1]] & 0xFF;
+                    b[x] = data[at + bandOffsets[2]] & 0xFF;
+                }
+                d.row(y, r, g, b, tiles);
+            }
+        } else {
+            int[] argb;
+            int scanline = width;
+            int base = 0;
+            if (db instanceof DataBufferInt && sm instanceof SinglePixelPackedSampleModel
+                    && raster.getParent() == null && isPackedRgb(img)) {
+                argb = ((DataBufferInt) db).getData(0);
+                scanline = ((SinglePixelPackedSampleModel) sm).getScanlineStride();
+                base = db.getOffset();
+            } else {
+                argb = img.getRGB(0, 0, width, height, null, 0, width);
+            }
+            for (int y = 0; y < height; y++) {
+                int at = base + y * scanline;
+                for (int x = 0; x < width; x++) {
+                    int p = argb[at + x];
+                    r[x] = (p >> 16) & 0xFF;
+                    g[x] = (p >> 8) & 0xFF;
+                    b[x] = p & 0xFF;
+                }
+                d.row(y, r, g, b, tiles);
+            }
+        }
+        return new Level(new TileLayer(tiles, width, height), d.props, d.spawns());
+    }
+
+    // Band 0..2 of the byte layouts ImageIO hands out are red, green, blue
+    private static boolean isRgbOrder(BufferedImage img) {
+        int t = img.getType();
+        return t == BufferedImage.TYPE_4BYTE_ABGR || t == BufferedImage.TYPE_3BYTE_BGR
+                || t == BufferedImage.TYPE_4BYTE_ABGR_PRE
+                || (t == BufferedImage.TYPE_CUSTOM && img.getColorModel().getColorSpace().isCS_sRGB());
+    }
+
+    private static boolean isPackedRgb(BufferedImage img) {
+        int t = img.getType();
+        return t == BufferedImage.TYPE_INT_ARGB || t == BufferedImage.TYPE_INT_RGB;
+    }
+
+    // Turns rows of channel values into tile ids, spawn points and property overrides
+    private static class Decoder {
+        private final int width;
+        private final boolean entities, properties;
+        private final String name;
+        final TileProperties props;
+        // Overridden property flags per tile id, -1 while unset
+        private final int[] override = new int[TileLayer.MAX_TILE_ID + 1];
+        private final List<int[]> spawnRows = new ArrayList<>(); // {type, x, y, variant}
+
+        Decoder(int width, int channels, String name) {
+            this.width = width;
+            this.entities = (channels & ENTITIES) != 0;
+            this.properties = (channels & PROPERTIES) != 0;
+            this.name = name;
+            this.props = new TileProperties(TileProperties.TILESET_SIZE);
+            for (int id = 0; id < TileProperties.TILESET_SIZE; id++) {
+                props.set(id, TileProperties.DEFAULT.flags(id));
+            }
+            Arrays.fill(override, -1);
+        }
+
+        void row(int y, int[] r, int[] g, int[] b, ByteBuffer tiles) throws IOException {
+            int at = y * width;
+            for (int x = 0; x < width; x++) {
+                int id = r[x] >= TileProperties.TILESET_SIZE ? 0 : r[x];
+                tiles.put(at + x, (byte) id);
+                if (entities && g[x] != 0) spawn(x, y, g[x]);
+                if (properties && b[x] != 0) property(x, y, id, b[x]);
+            }
+        }
+
+        private void spawn(int x, int y, int code) throws IOException {
+            int type = code >> 4;
+            if (type != SpawnTable.ENEMY && type != SpawnTable.SPIKE && type != SpawnTable.BOSS) {
+                throw new IOException(name + ": unknown entity code " + code + " at " + x + "," + y);
+            }
+            spawnRows.add(new int[] { type, x, y + 1, code & 0xF });
+        }
+
+        private void property(int x, int y, int id, int code) throws IOException {
+            if ((code & EXPLICIT) == 0) {
+                throw new IOException(name + ": property code " + code + " at " + x + "," + y + " lacks the 0x80 marker");
+            }
+            int flags = code & ~EXPLICIT;
+            if (override[id] >= 0 && override[id] != flags) {
+                throw new IOException(name + ": tile " + id + " has conflicting properties at " + x + "," + y);
+            }
+            override[id] = flags;
+            props.set(id, flags);
+        }
+
+        SpawnTable spawns() {
+            if (spawnRows.isEmpty()) return SpawnTable.EMPTY;
+            int n = spawnRows.size();
+            int[] type = new int[n], x = new int[n], y = new int[n], variant = new int[n];
+            for (int i = 0; i < n; i++) {
+                int[] s = spawnRows.get(i);
+                type[i] = s[0];
+                x[i] = s[1];
+                y[i] = s[2];
+                variant[i] = s[3];
+            }
+            return SpawnTable.of(type, x, y, variant);
+        }
+    }
+}
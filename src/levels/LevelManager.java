@@ -2,12 +2,22 @@ package levels;
 
 import Main.Game;
 import util.LevelFactory;
+import util.LevelGenerator;
 import util.LoadSave;
+import util.SpawnPlanner;
 
+import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 
 import static Main.Game.*;
 
@@ -15,15 +25,34 @@ public class LevelManager {
     private Game game;
     private BufferedImage[] levelSprite;
 
-    // Multi-level using arrays built in LevelFactory
-    private final List<Level> levels = new ArrayList<>();
+    // Multi-level using arrays built in LevelFactory: 5 regular levels + 1 boss level.
+    // Levels are built on first use; the next one is usually prepared by preloadNext().
+    private static final int LEVEL_COUNT = 6;
+    private static final int BOSS_LEVEL = LEVEL_COUNT - 1;
+    private final Level[] levels = new Level[LEVEL_COUNT];
     private int currentLevelIdx = 0;
+    // Read by the render thread; replaced in one write when the level changes
+    private volatile Level current;
+
+    // Seed of generated levels (-Dlevels.generate), the run's GameRandom seed; level i uses seed + i
+    private final long generatorSeed;
+
+    // Level being prepared in the background, and its index (-1 when none)
+    private static final ExecutorService PRELOADER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "level-preload");
+        t.setDaemon(true);
+        return t;
+    });
+    private CompletableFuture<Level> preload;
+    private int preloadIdx = -1;
 
     // Layered backgrounds
     private BufferedImage gameBg0, gameBg1;
 
-    public LevelManager(Game game){
+    /** {@code seed} is the run's {@link util.GameRandom} seed, so generated levels can be reproduced from it. */
+    public LevelManager(Game game, long seed){
         this.game = game;
+        this.generatorSeed = seed;
         importSprites();
         loadBackgrounds();
         loadLevels();
@@ -46,15 +75,76 @@ public class LevelManager {
     }
 
     private void loadLevels() {
-        // Build 5 regular levels + 1 boss level programmatically
-        levels.add(new Level(LevelFactory.level1()));
-        levels.add(new Level(LevelFactory.level2()));
-        levels.add(new Level(LevelFactory.level3()));
-        levels.add(new Level(LevelFactory.level4()));
-        levels.add(new Level(LevelFactory.level5()));
-        levels.add(new Level(LevelFactory.bossArena())); // Level 6: Boss Arena
+        levels[0] = buildLevel(0);
+        current = levels[0];
+    }
+
+    /**
+     * Builds level {@code index} with its spawn table filled in, so entering it only copies
+     * spawn points. Safe to run off the game thread.
+     */
+    private Level buildLevel(int index) {
+        Level level = new Level(switch (index) {
+            case 0 -> LevelFactory.level1();
+            case 1 -> LevelFactory.level2();
+            case 2 -> LevelFactory.level3();
+            case 3 -> LevelFactory.level4();
+            case 4 -> LevelFactory.level5();
+            default -> LevelFactory.bossArena(); // Level 6: Boss Arena
+        });
+
+        // -Dlevels.generate=easy|normal|hard swaps the regular levels for generated ones,
+        // seeded from the run's seed
+        String profile = System.getProperty("levels.generate");
+        if (profile != null && index != BOSS_LEVEL) {
+            LevelGenerator.Profile p = LevelGenerator.Profile.valueOf(profile.toUpperCase(Locale.ROOT));
+            level = new Level(LevelGenerator.generate(generatorSeed + index, p));
+        }
+
+        // -Dlevels.dir=<dir> replaces them with binary level files (see util.LevelConverter)
+        // or level images with every channel in use (see LevelImage)
+        String dir = System.getProperty("levels.dir");
+        if (dir != null) {
+            Path file = Paths.get(dir, LevelFile.fileName(index));
+            Path image = Paths.get(dir, LevelImage.fileName(index));
+            try {
+                if (Files.isRegularFile(file)) {
+                    level = LevelFile.load(file);
+                } else if (Files.isRegularFile(image)) {
+                    BufferedImage img = ImageIO.read(image.toFile());
+                    if (img == null) throw new IOException("not an image");
+                    level = LevelImage.read(img, LevelImage.ALL_CHANNELS, image.toString());
+                }
+            } catch (IOException e) {
+                System.out.println("[Level] Could not load level " + (index + 1) + " from " + dir
+                        + ", using built-in level: " + e.getMessage());
+            }
+        }
+
+        if (level.getSpawns().size() == 0) {
+            level = level.withSpawns(SpawnPlanner.plan(level, index == BOSS_LEVEL));
+        }
+        return level;
     }
-    
+
+    /**
+     * Starts preparing the level after the current one on a background thread, then hands
+     * it to {@code prepare} (may be null) for whatever else it needs, unless that is already
+     * under way. A level built on an earlier run is reused, but prepared again. The result
+     * is picked up by {@link #nextLevel()}.
+     */
+    public void preloadNext(Consumer<Level> prepare) {
+        int idx = currentLevelIdx + 1;
+        if (idx >= LEVEL_COUNT || idx == preloadIdx || (levels[idx] != null && prepare == null)) return;
+        preloadIdx = idx;
+        Level built = levels[idx];
+        preload = CompletableFuture.supplyAsync(() -> {
+            Level level = built != null ? built : buildLevel(idx);
+            if (prepare != null) prepare.accept(level);
+            return level;
+        }, PRELOADER);
+    }
+
     /**
      * Check if current level is the boss arena.
      */
@@ -74,6 +164,7 @@ public class LevelManager {
         // Calculate visible tile range based on camera
         int startTileX = Math.max(0, cameraOffsetX / TILES_SIZE);
         int endTileX = Math.min(levelWidth, (cameraOffsetX + GAME_WIDTH) / TILES_SIZE + 2);
+        current.focus(startTileX, endTileX);
         
         for(int i = 0; i < Game.TILES_HEIGHT; i++){
             for(int j = startTileX; j < endTileX && j < levelWidth; j++){
@@ -93,27 +184,51 @@ public class LevelManager {
     public void update(){ }
 
     public Level getCurrentLevel() {
-        if (levels.isEmpty()) return new Level(LevelFactory.level1());
-        if (currentLevelIdx < 0) currentLevelIdx = 0;
-        if (currentLevelIdx >= levels.size()) currentLevelIdx = levels.size()-1;
-        return levels.get(currentLevelIdx);
+        return current;
     }
 
     public int getCurrentLevelIndex() {
         return currentLevelIdx;
     }
 
+    /** Whether the level after the current one is the boss arena. */
+    public boolean isNextBossLevel() {
+        return currentLevelIdx + 1 == BOSS_LEVEL;
+    }
+
+    /**
+     * Switches to the next level. Uses the preloaded level when there is one; only waits for
+     * it (or builds the level here) if the player got to the edge before it was ready.
+     */
     public void nextLevel() {
-        if (currentLevelIdx < levels.size() - 1) {
-            currentLevelIdx++;
+        int idx = currentLevelIdx + 1;
+        if (idx >= LEVEL_COUNT) return;
+        if (idx == preloadIdx) {
+            levels[idx] = preload.join();
+        } else if (levels[idx] == null) {
+            levels[idx] = buildLevel(idx);
         }
+        preload = null;
+        preloadIdx = -1;
+        currentLevelIdx = idx;
+        current = levels[idx];
     }
 
     public boolean isLastLevel() {
-        return currentLevelIdx >= levels.size() - 1;
+        return currentLevelIdx >= LEVEL_COUNT - 1;
     }
 
+    /**
+     * Goes back to the first level. A preload still under way is waited for and kept, so
+     * the level isn't built again and nothing it prepares lands after the reset.
+     */
     public void resetToFirstLevel() {
+        if (preload != null) {
+            levels[preloadIdx] = preload.join();
+            preload = null;
+            preloadIdx = -1;
+        }
         currentLevelIdx = 0;
+        current = levels[0];
     }
-}
\ No newline at end of file
+}
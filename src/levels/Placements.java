@@ -0,0 +1,34 @@
+package levels;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Spikes, coins and hearts for one visit to a level. The level preloader works these out
+ * for the next level, so crossing into it only copies them into the managers.
+ */
+public final class Placements {
+    final List<Spike> spikes;
+    final List<Coin> coins;
+    final List<Heart> hearts;
+
+    private Placements(List<Spike> spikes, List<Coin> coins, List<Heart> hearts) {
+        this.spikes = spikes;
+        this.coins = coins;
+        this.hearts = hearts;
+    }
+
+    /**
+     * Places everything the managers' spawnForLevel methods would (or the arena hearts when
+     * {@code bossArena}). Draws only from {@code rnd}, so give it a stream split for this
+     * call when running off the game thread.
+     */
+    public static Placements plan(Level level, boolean bossArena, SplittableRandom rnd) {
+        List<Spike> spikes = SpikeManager.place(level);
+        List<Coin> coins = CoinManager.place(level, spikes, rnd);
+        List<Heart> hearts = bossArena
+                ? HeartManager.placeBossArenaHearts(level, spikes, rnd)
+                : HeartManager.placeLevelHeart(level, spikes);
+        return new Placements(spikes, coins, hearts);
+    }
+}
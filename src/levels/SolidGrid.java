@@ -0,0 +1,100 @@
+package levels;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Packed solidity map for a level: one bit per tile, row-major.
+ * Built once when the level is created so collision checks are a single bit test
+ * instead of a tile lookup plus a tile-index comparison.
+ *
+ * Blocking tiles flagged {@link TileProperties#ONE_WAY} go into a second bitset instead
+ * of the solid one: only downward sweeps that start above them collide
+ * ({@link util.TileCollider}), every other test sees them as open.
+ */
+public class SolidGrid {
+    private final long[] bits;
+    // Null when the level has no one-way tiles
+    private final long[] oneWay;
+    private final int width;
+    private final int height;
+
+    /**
+     * A tile blocks movement when, of the flags in {@code required | excluded}, exactly the
+     * {@code required} ones are set; e.g. {@code (SOLID, BOSS_PASSABLE)} for the boss.
+     */
+    public SolidGrid(TileLayer tiles, TileProperties props, int required, int excluded) {
+        int mask = required | excluded;
+        this.height = tiles.getHeight();
+        this.width = tiles.getWidth();
+        this.bits = new long[(width * height + 63) >>> 6];
+
+        // Resolve the flags once per tile id, then make one pass over the raw bytes
+        boolean[] blocks = new boolean[TileLayer.MAX_TILE_ID + 1];
+        boolean[] platform = new boolean[TileLayer.MAX_TILE_ID + 1];
+        boolean anyOneWay = false;
+        for (int id = 0; id < blocks.length; id++) {
+            boolean b = (props.flags(id) & mask) == required;
+            platform[id] = b && props.has(id, TileProperties.ONE_WAY);
+            blocks[id] = b && !platform[id];
+            anyOneWay |= platform[id];
+        }
+
+        ByteBuffer raw = tiles.buffer();
+        this.oneWay = anyOneWay ? new long[bits.length] : null;
+        for (int i = 0, n = width * height; i < n; i++) {
+            int id = raw.get(i) & 0xFF;
+            if (blocks[id]) bits[i >>> 6] |= 1L << i;
+            else if (platform[id]) oneWay[i >>> 6] |= 1L << i;
+        }
+    }
+
+    /**
+     * Tile-space solidity test. Outside the grid the level is closed on the left, top
+     * and right, and open at the bottom so the player can fall into pits.
+     */
+    public boolean isSolid(int tileX, int tileY) {
+        if (tileX < 0 || tileY < 0) return true;
+        if (tileY >= height) return false;
+        if (tileX >= width) return true;
+        int i = tileY * width + tileX;
+        return (bits[i >>> 6] & (1L << i)) != 0;
+    }
+
+    /** Whether the tile is a one-way platform; false outside the grid. */
+    public boolean isOneWay(int tileX, int tileY) {
+        if (oneWay == null || tileX < 0 || tileY < 0 || tileX >= width || tileY >= height) return false;
+        int i = tileY * width + tileX;
+        return (oneWay[i >>> 6] & (1L << i)) != 0;
+    }
+
+    public boolean hasOneWay() {
+        return oneWay != null;
+    }
+
+    /**
+     * Probe test used by {@link util.Helpmethods#CanMoveHere}: checks the left and right
+     * columns of a box on its top, middle and bottom rows. Bounds are resolved once per row
+     * instead of once per probe point.
+     */
+    public boolean anySolid(int left, int right, int top, int middle, int bottom) {
+        if (left < 0 || top < 0) return true;
+        return rowSolid(top, left, right) || rowSolid(middle, left, right) || rowSolid(bottom, left, right);
+    }
+
+    private boolean rowSolid(int row, int left, int right) {
+        if (row >= height) return false;
+        if (right >= width) return true;
+        int base = row * width;
+        int l = base + left;
+        int r = base + right;
+        return (bits[l >>> 6] & (1L << l)) != 0 || (bits[r >>> 6] & (1L << r)) != 0;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+}
@@ -0,0 +1,79 @@
+package levels;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Entity spawn points of a level, as stored in a {@link LevelFile}.
+ *
+ * Each entry is {@link #ENTRY_BYTES} bytes: tile column (int), tile row of the surface the
+ * entity stands on (short), type (byte) and variant (byte). Entries are read straight from
+ * the backing buffer. Levels built from code have an {@link #EMPTY} table and the
+ * managers fall back to their own placement.
+ */
+public class SpawnTable {
+    public static final int ENTRY_BYTES = 8;
+
+    public static final int ENEMY = 1;
+    public static final int SPIKE = 2;
+    public static final int BOSS = 3;
+
+    public static final SpawnTable EMPTY = new SpawnTable(ByteBuffer.allocate(0), 0);
+
+    private final ByteBuffer entries;
+    private final int count;
+
+    public SpawnTable(ByteBuffer entries, int count) {
+        if (entries.capacity() < (long) count * ENTRY_BYTES) {
+            throw new IllegalArgumentException("Spawn buffer too small for " + count + " entries");
+        }
+        this.entries = entries;
+        this.count = count;
+    }
+
+    /** Builds a heap table; every array holds one value per entry. */
+    public static SpawnTable of(int[] type, int[] tileX, int[] tileY, int[] variant) {
+        ByteBuffer buf = ByteBuffer.allocate(type.length * ENTRY_BYTES);
+        for (int i = 0; i < type.length; i++) {
+            int at = i * ENTRY_BYTES;
+            buf.putInt(at, tileX[i]);
+            buf.putShort(at + 4, (short) tileY[i]);
+            buf.put(at + 6, (byte) type[i]);
+            buf.put(at + 7, (byte) variant[i]);
+        }
+        return new SpawnTable(buf, type.length);
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /** Number of entries of the given type. */
+    public int count(int type) {
+        int n = 0;
+        for (int i = 0; i < count; i++) {
+            if (type(i) == type) n++;
+        }
+        return n;
+    }
+
+    public int tileX(int i) {
+        return entries.getInt(i * ENTRY_BYTES);
+    }
+
+    public int tileY(int i) {
+        return entries.getShort(i * ENTRY_BYTES + 4);
+    }
+
+    public int type(int i) {
+        return entries.get(i * ENTRY_BYTES + 6);
+    }
+
+    public int variant(int i) {
+        return entries.get(i * ENTRY_BYTES + 7);
+    }
+
+    /** The raw entry bytes (shared, not copied). */
+    ByteBuffer buffer() {
+        return entries.duplicate();
+    }
+}
@@ -1,8 +1,8 @@
 package levels;
 
 import Main.Game;
+import util.Aabb;
 
-import java.awt.*;
 
 public class Spike {
     // Store pixel-space coords for simpler drawing/collision
@@ -16,14 +16,18 @@ public class Spike {
     public static final int W = SIZE;
     public static final int H = SIZE;
 
+    // Spikes never move, so the bounds are built once instead of per query
+    private final Aabb bounds;
+
     public Spike(int x, int y, int type) {
         this.x = x;
         this.y = y; // y is top-left where bottom of spike sits on ground top
         this.type = type;
+        this.bounds = new Aabb(x, y, W, H);
     }
 
-    public Rectangle getBounds() {
-        return new Rectangle(x, y, W, H);
+    public Aabb getBounds() {
+        return bounds;
     }
 
     public int getType() {
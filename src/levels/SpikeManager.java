@@ -1,7 +1,9 @@
 package levels;
 
 import Main.Game;
+import util.ContactBuffer;
 import util.LoadSave;
+import util.SpatialGrid;
 
 import java.awt.*;
 import java.awt.geom.Rectangle2D;
@@ -14,6 +16,11 @@ public class SpikeManager {
     // Use a single spike image for all spikes
     private BufferedImage spikeImg;
     private final List<Spike> spikes = new ArrayList<>();
+    // Broad-phase over spikes; rebuilt whenever the spike list changes
+    private final SpatialGrid grid = new SpatialGrid();
+
+    // Spike columns for the built-in levels
+    private static final int[] SPAWN_COLUMNS = {6, 10, 16, 21}; // tweak as desired per level layout
 
     public SpikeManager() {
         loadImages();
@@ -31,19 +38,74 @@ public class SpikeManager {
 
     public void clear() {
         spikes.clear();
+        rebuildGrid();
+    }
+
+    private void rebuildGrid() {
+        grid.clear();
+        for (int i = 0; i < spikes.size(); i++) {
+            Spike s = spikes.get(i);
+            grid.insert(s.getX(), s.getY(), Spike.W, Spike.H);
+        }
+        grid.build();
     }
 
     public void spawnForLevel(Level level) {
         spikes.clear();
-        int[][] data = level.getLevelData();
-        if (data == null) return;
+        spikes.addAll(place(level));
+        rebuildGrid();
+    }
+
+    /** Replaces the spikes with the ones planned ahead in {@code placements}. */
+    public void spawn(Placements placements) {
+        spikes.clear();
+        spikes.addAll(placements.spikes);
+        rebuildGrid();
+    }
+
+    /** Replaces the spikes with {@code count} spikes spaced evenly across the level. */
+    public void spawnEvenly(Level level, int count) {
+        spikes.clear();
+        SurfaceMap surfaces = level.getSurfaceMap();
+        int levelWidth = level.getLevelWidth();
+        for (int i = 0; i < count; i++) {
+            int xt = (int) ((long) i * levelWidth / count);
+            int groundYTile = surfaces.topSurface(xt);
+            if (groundYTile == SurfaceMap.NONE) continue;
+            int px = xt * Game.TILES_SIZE + (Game.TILES_SIZE - Spike.W) / 2;
+            int py = groundYTile * Game.TILES_SIZE - Spike.H;
+            spikes.add(new Spike(px, py, 0));
+        }
+        rebuildGrid();
+    }
+
+    /** Spike columns used for levels without a spawn table. */
+    public static int[] spawnColumns() {
+        return SPAWN_COLUMNS.clone();
+    }
+
+    /** Spikes for {@link #spawnForLevel}; touches no manager state, so it can run on the level preloader. */
+    static List<Spike> place(Level level) {
+        List<Spike> spikes = new ArrayList<>();
+        SurfaceMap surfaces = level.getSurfaceMap();
+
+        // Levels loaded from a file carry their own spawn points
+        SpawnTable spawns = level.getSpawns();
+        if (spawns.count(SpawnTable.SPIKE) > 0) {
+            for (int i = 0; i < spawns.size(); i++) {
+                if (spawns.type(i) != SpawnTable.SPIKE) continue;
+                int px = spawns.tileX(i) * Game.TILES_SIZE + (Game.TILES_SIZE - Spike.W) / 2;
+                spikes.add(new Spike(px, spawns.tileY(i) * Game.TILES_SIZE - Spike.H, 0));
+            }
+            return spikes;
+        }
 
         // Choose a few x tile columns and place spikes on ground.
-        int[] xTiles = {6, 10, 16, 21}; // tweak as desired per level layout
+        int[] xTiles = SPAWN_COLUMNS;
         for (int i = 0; i < xTiles.length; i++) {
             int xt = xTiles[i];
-            int groundYTile = findGroundYTile(data, xt);
-            if (groundYTile != -1) {
+            int groundYTile = surfaces.topSurface(xt);
+            if (groundYTile != SurfaceMap.NONE) {
                 // Pixel positions: center spike horizontally on the tile; bottom on ground top
                 int px = xt * Game.TILES_SIZE + (Game.TILES_SIZE - Spike.W) / 2;
                 int py = groundYTile * Game.TILES_SIZE - Spike.H; // bottom aligns with ground top
@@ -51,28 +113,20 @@ public class SpikeManager {
                 spikes.add(new Spike(px, py, 0));
             }
         }
+        return spikes;
     }
 
-    private int findGroundYTile(int[][] data, int xTile) {
-        // Find first solid tile from top; we treat value != 11 as solid (matches Helpmethods.isSolid)
-        for (int y = 0; y < Game.TILES_HEIGHT; y++) {
-            int idx = data[y][xTile];
-            boolean solid = (idx != 11);
-            if (solid) {
-                return y;
-            }
-        }
-        return -1;
-    }
-
-    public boolean isPlayerOnSpike(Rectangle2D.Float playerHB) {
-        Rectangle playerRect = new Rectangle((int)playerHB.x, (int)playerHB.y, (int)playerHB.width, (int)playerHB.height);
-        for (Spike s : spikes) {
-            if (playerRect.intersects(s.getBounds())) {
-                return true;
+    /**
+     * Contact source for the collision stage: one event per spike overlapping the probe.
+     */
+    public void collectContacts(Rectangle2D.Float probe, int type, ContactBuffer out) {
+        int n = grid.query(probe.x, probe.y, probe.width, probe.height);
+        for (int i = 0; i < n; i++) {
+            int id = grid.result(i);
+            if (spikes.get(id).getBounds().overlaps(probe)) {
+                out.add(type, id);
             }
         }
-        return false;
     }
 
     public void draw(Graphics g, int cameraOffsetX) {
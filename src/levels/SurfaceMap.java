@@ -0,0 +1,106 @@
+package levels;
+
+import java.util.Arrays;
+
+/**
+ * Per-column index of the surfaces in a level, built once from its {@link SolidGrid}.
+ *
+ * A surface is a solid or one-way tile whose top face is open: the tile above it is air, or it sits
+ * on the top row. Each surface stores its tile row and its headroom (number of air tiles
+ * directly above it). Columns are packed back to back, top to bottom, so the whole map
+ * is three flat arrays no matter how wide the level is.
+ *
+ * Surfaces on {@link TileProperties#HAZARD} tiles stay in the map but are never handed
+ * out as spawn spots.
+ */
+public class SurfaceMap {
+    public static final int NONE = -1;
+    private static final int MAX_HEADROOM = Byte.MAX_VALUE;
+    // Stored instead of the headroom for hazard surfaces; fails every headroom test
+    private static final byte HAZARD_HEADROOM = -1;
+
+    private final int width;
+    // Surfaces of column x are entries columnStart[x] .. columnStart[x + 1] - 1, ordered top to bottom
+    private final int[] columnStart;
+    private final short[] rows;
+    private final byte[] headroom;
+
+    public SurfaceMap(SolidGrid grid, TileLayer tiles, TileProperties props) {
+        this.width = grid.getWidth();
+        int height = grid.getHeight();
+        this.columnStart = new int[width + 1];
+
+        // Both passes walk the grid row by row (its memory order), keeping per-column state;
+        // first count surfaces per column so the packed arrays can be sized exactly
+        boolean[] above = new boolean[width];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                boolean solid = grid.isSolid(x, y) || grid.isOneWay(x, y);
+                if (solid && !above[x]) columnStart[x + 1]++;
+                above[x] = solid;
+            }
+        }
+        for (int x = 0; x < width; x++) columnStart[x + 1] += columnStart[x];
+
+        int total = columnStart[width];
+        this.rows = new short[total];
+        this.headroom = new byte[total];
+
+        int[] next = Arrays.copyOf(columnStart, width);
+        int[] air = new int[width];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if (grid.isSolid(x, y) || grid.isOneWay(x, y)) {
+                    if (air[x] > 0 || y == 0) {
+                        int i = next[x]++;
+                        rows[i] = (short) y;
+                        headroom[i] = props.has(tiles.get(x, y), TileProperties.HAZARD)
+                                ? HAZARD_HEADROOM
+                                : (byte) Math.min(air[x], MAX_HEADROOM);
+                    }
+                    air[x] = 0;
+                } else {
+                    air[x]++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Row of the first solid tile from the top of the column, or {@link #NONE} if the
+     * column is empty, outside the level, or topped by a hazard.
+     */
+    public int topSurface(int tileX) {
+        if (tileX < 0 || tileX >= width) return NONE;
+        int i = columnStart[tileX];
+        if (i == columnStart[tileX + 1] || headroom[i] == HAZARD_HEADROOM) return NONE;
+        return rows[i];
+    }
+
+    /**
+     * Row of the lowest surface in the column with at least {@code minHeadroom} air tiles
+     * above it, or {@link #NONE} if there is none.
+     */
+    public int lowestSurface(int tileX, int minHeadroom) {
+        if (tileX < 0 || tileX >= width) return NONE;
+        for (int i = columnStart[tileX + 1] - 1; i >= columnStart[tileX]; i--) {
+            if (headroom[i] >= minHeadroom) return rows[i];
+        }
+        return NONE;
+    }
+
+    public int surfaceCount(int tileX) {
+        if (tileX < 0 || tileX >= width) return 0;
+        return columnStart[tileX + 1] - columnStart[tileX];
+    }
+
+    /** Row of the i-th surface (0 = topmost) of the column. */
+    public int surfaceRow(int tileX, int i) {
+        return rows[columnStart[tileX] + i];
+    }
+
+    /** Air tiles directly above the i-th surface of the column, or -1 for a hazard. */
+    public int surfaceHeadroom(int tileX, int i) {
+        return headroom[columnStart[tileX] + i];
+    }
+}
@@ -0,0 +1,150 @@
+package levels;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Tile ids of a level split into chunks of {@link #CHUNK_WIDTH} columns.
+ *
+ * Every chunk is kept run-length encoded (wide levels are mostly long runs of air and
+ * ground); only a bounded set of chunks around the camera is decoded. A single background
+ * thread decodes the chunks of the current window and evicts the least recently focused
+ * ones beyond the capacity. Readers never wait: {@link #tile} returns {@link #MISSING}
+ * for a chunk that isn't decoded yet, and the caller draws a stand-in.
+ *
+ * Levels that fit in the capacity are decoded up front and never miss.
+ */
+public class TileChunkStore {
+    public static final int CHUNK_WIDTH = 64;
+    public static final int MISSING = -1;
+    /** Decoded chunks kept by default: a few screens' worth either side of the camera. */
+    public static final int DEFAULT_CAPACITY = 16;
+
+    // One loader for every level; decoding is short and levels are streamed one at a time
+    private static final ExecutorService LOADER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "level-chunks");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final int width, height;
+    private final int chunkCount;
+    private final int capacity;
+    private final byte[][] encoded;
+    // Decoded chunks (row-major, CHUNK_WIDTH columns per row), null when not resident
+    private final AtomicReferenceArray<byte[]> resident;
+
+    // Loader-thread state: resident chunks, least recently focused first
+    private final ArrayDeque<Integer> lru = new ArrayDeque<>();
+    // Render-thread state (focus() is called while drawing): last window handed to the loader
+    private int windowFirst = -1, windowLast = -1;
+
+    public TileChunkStore(TileLayer tiles, int capacity) {
+        this.width = tiles.getWidth();
+        this.height = tiles.getHeight();
+        this.chunkCount = (width + CHUNK_WIDTH - 1) / CHUNK_WIDTH;
+        this.capacity = Math.max(1, capacity);
+        this.encoded = new byte[chunkCount][];
+        this.resident = new AtomicReferenceArray<>(chunkCount);
+
+        byte[] raw = new byte[CHUNK_WIDTH * height];
+        byte[] runs = new byte[2 * raw.length];
+        for (int c = 0; c < chunkCount; c++) {
+            copyChunk(tiles, c, raw);
+            encoded[c] = Arrays.copyOf(runs, encode(raw, runs));
+        }
+        if (chunkCount <= this.capacity) {
+            for (int c = 0; c < chunkCount; c++) resident.set(c, decode(c));
+        }
+    }
+
+    // The last chunk's rows are padded with zeros past the level's right edge
+    private void copyChunk(TileLayer tiles, int chunk, byte[] out) {
+        int x0 = chunk * CHUNK_WIDTH;
+        int cols = Math.min(CHUNK_WIDTH, width - x0);
+        if (cols < CHUNK_WIDTH) Arrays.fill(out, (byte) 0);
+        for (int y = 0; y < height; y++) tiles.copyRow(y, x0, out, y * CHUNK_WIDTH, cols);
+    }
+
+    // (run length 1..255, tile id) pairs; returns the encoded length
+    private static int encode(byte[] data, byte[] out) {
+        int i = 0, o = 0;
+        while (i < data.length) {
+            byte id = data[i];
+            int run = 1;
+            while (i + run < data.length && run < 255 && data[i + run] == id) run++;
+            out[o++] = (byte) run;
+            out[o++] = id;
+            i += run;
+        }
+        return o;
+    }
+
+    private byte[] decode(int chunk) {
+        byte[] out = new byte[CHUNK_WIDTH * height];
+        byte[] src = encoded[chunk];
+        int o = 0;
+        for (int i = 0; i < src.length; i += 2) {
+            int run = src[i] & 0xFF;
+            byte id = src[i + 1];
+            Arrays.fill(out, o, o + run, id);
+            o += run;
+        }
+        return out;
+    }
+
+    /** Tile id at (x, y), or {@link #MISSING} while its chunk is not decoded. */
+    public int tile(int x, int y) {
+        byte[] chunk = resident.get(x / CHUNK_WIDTH);
+        if (chunk == null) return MISSING;
+        return chunk[y * CHUNK_WIDTH + x % CHUNK_WIDTH] & 0xFF;
+    }
+
+    /**
+     * Asks the loader to have the chunks covering columns {@code firstColumn..lastColumn}
+     * decoded. Cheap when the window hasn't moved to another chunk since the last call.
+     */
+    public void focus(int firstColumn, int lastColumn) {
+        if (chunkCount <= capacity) return;
+        int first = Math.max(0, firstColumn / CHUNK_WIDTH);
+        int last = Math.min(chunkCount - 1, lastColumn / CHUNK_WIDTH);
+        if (first == windowFirst && last == windowLast) return;
+        windowFirst = first;
+        windowLast = last;
+        LOADER.execute(() -> load(first, last));
+    }
+
+    // Runs on the loader thread
+    private void load(int first, int last) {
+        for (int c = first; c <= last; c++) {
+            if (resident.get(c) == null) resident.set(c, decode(c));
+            lru.remove(c);
+            lru.addLast(c);
+        }
+        // Evict the least recently focused chunks outside the window
+        Iterator<Integer> it = lru.iterator();
+        while (lru.size() > capacity && it.hasNext()) {
+            int c = it.next();
+            if (c >= first && c <= last) continue;
+            it.remove();
+            resident.set(c, null);
+        }
+    }
+
+    /** Decodes the whole level into a new layer, on the calling thread. For tools. */
+    public TileLayer toLayer() {
+        ByteBuffer buf = ByteBuffer.allocate(width * height);
+        for (int c = 0; c < chunkCount; c++) {
+            byte[] chunk = decode(c);
+            int x0 = c * CHUNK_WIDTH;
+            int cols = Math.min(CHUNK_WIDTH, width - x0);
+            for (int y = 0; y < height; y++) buf.put(y * width + x0, chunk, y * CHUNK_WIDTH, cols);
+        }
+        return new TileLayer(buf, width, height);
+    }
+}
@@ -0,0 +1,67 @@
+package levels;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Tile ids of a level, one unsigned byte per tile, row-major.
+ *
+ * Backed by a {@link ByteBuffer}, so a layer can be a view straight into a memory-mapped
+ * level file ({@link LevelFile}) as well as a heap buffer packed from a
+ * {@link util.LevelFactory} array.
+ */
+public class TileLayer {
+    /** Largest tile id a layer can hold. */
+    public static final int MAX_TILE_ID = 255;
+
+    private final ByteBuffer tiles;
+    private final int width;
+    private final int height;
+
+    public TileLayer(ByteBuffer tiles, int width, int height) {
+        if (width < 0 || height < 0 || tiles.capacity() < (long) width * height) {
+            throw new IllegalArgumentException("Tile buffer too small for " + width + "x" + height);
+        }
+        this.tiles = tiles;
+        this.width = width;
+        this.height = height;
+    }
+
+    /** Packs a {@code [row][column]} array into a heap layer. */
+    public static TileLayer of(int[][] levelData) {
+        int height = levelData.length;
+        int width = height == 0 ? 0 : levelData[0].length;
+        ByteBuffer buf = ByteBuffer.allocate(width * height);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int id = levelData[y][x];
+                if (id < 0 || id > MAX_TILE_ID) {
+                    throw new IllegalArgumentException("Tile id " + id + " at " + x + "," + y + " does not fit in a byte");
+                }
+                buf.put(y * width + x, (byte) id);
+            }
+        }
+        return new TileLayer(buf, width, height);
+    }
+
+    public int get(int x, int y) {
+        return tiles.get(y * width + x) & 0xFF;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /** Copies {@code len} tile ids of row {@code y}, starting at column {@code x}, into {@code dst}. */
+    void copyRow(int y, int x, byte[] dst, int off, int len) {
+        tiles.get(y * width + x, dst, off, len);
+    }
+
+    /** The raw row-major bytes (shared, not copied). */
+    ByteBuffer buffer() {
+        return tiles.duplicate();
+    }
+}
@@ -0,0 +1,62 @@
+package levels;
+
+import util.LevelFactory;
+
+/**
+ * Per-tileset property table: one byte of flags per tile id.
+ *
+ * Collision and spawn code asks this table what a tile does instead of comparing tile
+ * ids, so a new tile type is a new table entry rather than another branch. Ids outside
+ * the table count as plain solid tiles.
+ */
+public class TileProperties {
+    public static final int SOLID = 1;
+    /**
+     * Together with {@link #SOLID}: can be stood on and landed on from above, but is open
+     * from below and the sides.
+     */
+    public static final int ONE_WAY = 1 << 1;
+    /** Hurts on contact. */
+    public static final int HAZARD = 1 << 2;
+    /** The flying boss passes through it. */
+    public static final int BOSS_PASSABLE = 1 << 3;
+
+    /** Number of tiles in the level atlas (4 rows of 12). */
+    public static final int TILESET_SIZE = 48;
+
+    /** Properties of the tileset used by every built-in level. */
+    public static final TileProperties DEFAULT = createDefault();
+
+    private final byte[] flags;
+
+    public TileProperties(int tileCount) {
+        this.flags = new byte[tileCount];
+    }
+
+    private static TileProperties createDefault() {
+        TileProperties props = new TileProperties(TILESET_SIZE);
+        // Everything in the atlas is solid except the air tile
+        for (int id = 0; id < TILESET_SIZE; id++) props.set(id, SOLID);
+        props.set(LevelFactory.AIR, 0);
+        props.set(LevelFactory.PLATFORM, SOLID | BOSS_PASSABLE);
+        return props;
+    }
+
+    public void set(int tileId, int tileFlags) {
+        flags[tileId] = (byte) tileFlags;
+    }
+
+    public int flags(int tileId) {
+        if (tileId < 0 || tileId >= flags.length) return SOLID;
+        return flags[tileId];
+    }
+
+    /** Number of tile ids in the table. */
+    public int size() {
+        return flags.length;
+    }
+
+    public boolean has(int tileId, int flag) {
+        return (flags(tileId) & flag) != 0;
+    }
+}
@@ -2,6 +2,7 @@ package ui;
 
 import Main.Game;
 import java.awt.*;
+import util.SimClock;
 
 public class DeathOverlay {
     private final Game game;
@@ -21,7 +22,7 @@ public class DeathOverlay {
 
     public void activate() {
         active = true;
-        activatedAt = System.currentTimeMillis();
+        activatedAt = SimClock.millis();
     }
 
     public void deactivate() {
@@ -33,7 +34,7 @@ public class DeathOverlay {
     }
 
     public boolean canRespawn() {
-        return System.currentTimeMillis() - activatedAt >= minShowMs;
+        return SimClock.millis() - activatedAt >= minShowMs;
     }
 
     // Called each frame while overlay active
@@ -1,6 +1,7 @@
 package ui;
 
 import Main.Game;
+import util.AnimationClip;
 import util.LoadSave;
 
 import java.awt.*;
@@ -9,9 +10,7 @@ import java.awt.image.BufferedImage;
 public class GoldUI {
     // Animation
     private BufferedImage[] frames;
-    private int frameIndex = 0;
-    private int tick = 0;
-    private final int animSpeed = 12; // ticks per frame
+    private static final AnimationClip SPIN = new AnimationClip(9, 12, true);
 
     // Drawing
     private final int margin = (int)(8 * Game.SCALE);
@@ -32,18 +31,9 @@ public class GoldUI {
         }
     }
 
-    public void update() {
-        tick++;
-        if (tick >= animSpeed) {
-            tick = 0;
-            frameIndex++;
-            if (frameIndex >= frames.length) frameIndex = 0;
-        }
-    }
-
     public void draw(Graphics g, int goldAmount) {
         // Draw coin icon
-        g.drawImage(frames[frameIndex], margin, margin, coinDrawSize, coinDrawSize, null);
+        g.drawImage(frames[SPIN.frame(0)], margin, margin, coinDrawSize, coinDrawSize, null);
 
         // Draw gold amount to the right of the icon
         int offsetX = margin + coinDrawSize + (int)(8 * Game.SCALE);
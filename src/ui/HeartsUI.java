@@ -1,6 +1,7 @@
 package ui;
 
 import Main.Game;
+import util.AnimationClip;
 import util.LoadSave;
 
 import java.awt.*;
@@ -11,9 +12,7 @@ public class HeartsUI {
     private BufferedImage[] heartFullFrames;
 
     // Animation
-    private int frameIndex = 0;
-    private int tick = 0;
-    private final int animSpeed = 10; // ticks per frame
+    private static final AnimationClip BEAT = new AnimationClip(6, 10, true);
 
     // Drawing
     private final int margin = (int)(8 * Game.SCALE);
@@ -35,25 +34,17 @@ public class HeartsUI {
         }
     }
 
-    public void update(){
-        tick++;
-        if (tick >= animSpeed) {
-            tick = 0;
-            frameIndex++;
-            if (frameIndex >= heartFullFrames.length) frameIndex = 0;
-        }
-    }
-
     // Draw hearts under the gold icon (top-left)
     public void draw(Graphics g, int currentHearts, int maxHearts){
         int coinDrawSize = (int)(20 * Game.SCALE);
         int baseX = margin;
         int baseY = margin + coinDrawSize + (int)(6 * Game.SCALE);
 
+        BufferedImage full = heartFullFrames[BEAT.frame(0)];
         for (int i = 0; i < maxHearts; i++) {
             int x = baseX + i * (heartSize + spacing);
             if (i < currentHearts) {
-                g.drawImage(heartFullFrames[frameIndex], x, baseY, heartSize, heartSize, null);
+                g.drawImage(full, x, baseY, heartSize, heartSize, null);
             } else {
                 g.drawImage(heartEmpty, x, baseY, heartSize, heartSize, null);
             }
@@ -3,6 +3,8 @@ package ui;
 import Main.Game;
 import GameStates.GameState;
 import java.awt.*;
+import java.util.SplittableRandom;
+import util.SimClock;
 
 /**
  * Victory overlay displayed when the boss is defeated.
@@ -10,6 +12,8 @@ import java.awt.*;
  */
 public class VictoryOverlay {
     private final Game game;
+    private final SplittableRandom rng;
+    private final SplittableRandom twinkleRng;
 
     private boolean active = false;
     private long activatedAt = 0L;
@@ -22,7 +26,8 @@ public class VictoryOverlay {
     private final Font smallFont;
     
     // Animation variables
-    private int animTick = 0;
+    // Tick the overlay was shown; pulse and blink are timed from it
+    private long activatedTick = 0L;
     private float pulseScale = 1.0f;
     private int starParticleCount = 50;
     private float[] starX;
@@ -30,8 +35,11 @@ public class VictoryOverlay {
     private float[] starSpeed;
     private float[] starSize;
 
-    public VictoryOverlay(Game game) {
+    public VictoryOverlay(Game game, SplittableRandom rng) {
         this.game = game;
+        this.rng = rng;
+        // draw() runs on the UI thread, so it gets its own stream
+        this.twinkleRng = rng.split();
         bigFont = new Font("Serif", Font.BOLD, (int)(50 * Game.SCALE));
         mediumFont = new Font("SansSerif", Font.BOLD, (int)(24 * Game.SCALE));
         smallFont = new Font("SansSerif", Font.PLAIN, (int)(16 * Game.SCALE));
@@ -46,16 +54,17 @@ public class VictoryOverlay {
     
     private void initStars() {
         for (int i = 0; i < starParticleCount; i++) {
-            starX[i] = (float)(Math.random() * Game.GAME_WIDTH);
-            starY[i] = (float)(Math.random() * Game.GAME_HEIGHT);
-            starSpeed[i] = (float)(1 + Math.random() * 3);
-            starSize[i] = (float)(2 + Math.random() * 4);
+            starX[i] = (float)(rng.nextDouble() * Game.GAME_WIDTH);
+            starY[i] = (float)(rng.nextDouble() * Game.GAME_HEIGHT);
+            starSpeed[i] = (float)(1 + rng.nextDouble() * 3);
+            starSize[i] = (float)(2 + rng.nextDouble() * 4);
         }
     }
 
     public void activate() {
         active = true;
-        activatedAt = System.currentTimeMillis();
+        activatedAt = SimClock.millis();
+        activatedTick = SimClock.ticks();
         initStars();
     }
 
@@ -68,21 +77,20 @@ public class VictoryOverlay {
     }
 
     public boolean canContinue() {
-        return System.currentTimeMillis() - activatedAt >= MIN_SHOW_DURATION_MS;
+        return SimClock.millis() - activatedAt >= MIN_SHOW_DURATION_MS;
     }
 
     public void update() {
         if (!active) return;
         
-        animTick++;
-        pulseScale = 1.0f + 0.1f * (float)Math.sin(animTick * 0.05);
+        pulseScale = 1.0f + 0.1f * (float)Math.sin((SimClock.ticks() - activatedTick) * 0.05);
         
         // Update star particles (falling effect)
         for (int i = 0; i < starParticleCount; i++) {
             starY[i] += starSpeed[i];
             if (starY[i] > Game.GAME_HEIGHT) {
                 starY[i] = 0;
-                starX[i] = (float)(Math.random() * Game.GAME_WIDTH);
+                starX[i] = (float)(rng.nextDouble() * Game.GAME_WIDTH);
             }
         }
     }
@@ -105,7 +113,7 @@ public class VictoryOverlay {
         
         // Draw star particles
         for (int i = 0; i < starParticleCount; i++) {
-            int alpha = 150 + (int)(Math.random() * 105);
+            int alpha = 150 + (int)(twinkleRng.nextDouble() * 105);
             g2.setColor(new Color(255, 215, 0, alpha)); // Gold stars
             int size = (int)starSize[i];
             g2.fillOval((int)starX[i], (int)starY[i], size, size);
@@ -182,7 +190,7 @@ public class VictoryOverlay {
         int hintY = h - h / 4;
 
         // Blinking effect for prompt
-        if (canContinue() && (animTick / 30) % 2 == 0) {
+        if (canContinue() && ((SimClock.ticks() - activatedTick) / 30) % 2 == 0) {
             g2.setColor(Color.WHITE);
         } else {
             g2.setColor(new Color(200, 200, 200));
@@ -0,0 +1,58 @@
+package util;
+
+import java.awt.geom.Rectangle2D;
+
+/**
+ * Mutable float axis-aligned box used for hitboxes and scratch rectangles in the
+ * simulation. It is still a Rectangle2D.Float, so existing code that reads x/y/width/height
+ * keeps working, but the helpers here stay in float math and update the box in place,
+ * so per-tick collision code never has to allocate a rectangle.
+ */
+public class Aabb extends Rectangle2D.Float {
+    private static final long serialVersionUID = 1L;
+
+    public Aabb() {
+    }
+
+    public Aabb(float x, float y, float width, float height) {
+        super(x, y, width, height);
+    }
+
+    public Aabb set(float x, float y, float width, float height) {
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+        return this;
+    }
+
+    public Aabb set(Rectangle2D.Float r) {
+        return set(r.x, r.y, r.width, r.height);
+    }
+
+    public Aabb translate(float dx, float dy) {
+        x += dx;
+        y += dy;
+        return this;
+    }
+
+    /** Shrinks the box to its overlap with {@code o}; no overlap leaves a zero-size box. */
+    public Aabb intersect(Rectangle2D.Float o) {
+        float left = Math.max(x, o.x);
+        float top = Math.max(y, o.y);
+        float right = Math.min(x + width, o.x + o.width);
+        float bottom = Math.min(y + height, o.y + o.height);
+        return set(left, top, Math.max(0, right - left), Math.max(0, bottom - top));
+    }
+
+    /** Same rule as Rectangle2D.intersects (touching edges don't count), without the double conversions. */
+    public boolean overlaps(float ox, float oy, float ow, float oh) {
+        return width > 0 && height > 0 && ow > 0 && oh > 0
+                && x < ox + ow && x + width > ox
+                && y < oy + oh && y + height > oy;
+    }
+
+    public boolean overlaps(Rectangle2D.Float o) {
+        return overlaps(o.x, o.y, o.width, o.height);
+    }
+}
@@ -0,0 +1,41 @@
+package util;
+
+import Main.Game;
+
+/**
+ * Horizontal band of the level that is simulated at full rate: the camera view plus a
+ * margin on each side. Entities outside it are dormant and skip their update.
+ *
+ * The band follows the camera, which follows the player, so the same inputs wake the same
+ * entities on the same tick. Until {@link #follow} is first called everything is active.
+ */
+public class ActivityRegion {
+    /** Extra distance beyond each screen edge that is still simulated. */
+    public static final float MARGIN = 6 * Game.TILES_SIZE;
+
+    private float left = Float.NEGATIVE_INFINITY;
+    private float right = Float.POSITIVE_INFINITY;
+
+    public void follow(int cameraOffsetX) {
+        left = cameraOffsetX - MARGIN;
+        right = cameraOffsetX + Game.GAME_WIDTH + MARGIN;
+    }
+
+    /** Makes the whole level active again. */
+    public void everywhere() {
+        left = Float.NEGATIVE_INFINITY;
+        right = Float.POSITIVE_INFINITY;
+    }
+
+    public boolean contains(float x, float width) {
+        return x + width >= left && x <= right;
+    }
+
+    public float getLeft() {
+        return left;
+    }
+
+    public float getRight() {
+        return right;
+    }
+}
@@ -0,0 +1,50 @@
+package util;
+
+/**
+ * Immutable frame timing for a sprite animation.
+ *
+ * Animated objects don't step a frame counter every update; they remember the tick
+ * their animation started and ask the clip which frame is showing now. The frame is a
+ * pure function of {@link SimClock#ticks()}, so any number of objects can share a clip
+ * at no per-tick cost, and skipping or replaying ticks always lands on the right frame.
+ */
+public final class AnimationClip {
+    private final int frames;
+    private final int ticksPerFrame;
+    private final boolean loop;
+
+    public AnimationClip(int frames, int ticksPerFrame, boolean loop) {
+        this.frames = Math.max(1, frames);
+        this.ticksPerFrame = Math.max(1, ticksPerFrame);
+        this.loop = loop;
+    }
+
+    /** Frame index showing now for an animation started at {@code startTick}. */
+    public int frame(long startTick) {
+        return frameAt(startTick, SimClock.ticks());
+    }
+
+    /**
+     * Frame index at tick {@code now}. A looping clip wraps around; a one-shot clip holds
+     * its last frame once finished.
+     */
+    public int frameAt(long startTick, long now) {
+        long f = Math.max(0, now - startTick) / ticksPerFrame;
+        if (loop) return (int) (f % frames);
+        return (int) Math.min(f, frames - 1);
+    }
+
+    /** True once a full cycle has played since {@code startTick}. */
+    public boolean isDone(long startTick) {
+        return SimClock.ticks() - startTick >= length();
+    }
+
+    /** Ticks for one full cycle. */
+    public long length() {
+        return (long) frames * ticksPerFrame;
+    }
+
+    public int frames() {
+        return frames;
+    }
+}
@@ -0,0 +1,115 @@
+package util;
+
+import Main.Game;
+import levels.Level;
+import levels.SolidGrid;
+
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Measures {@link Helpmethods#CanMoveHere} on the {@link SolidGrid} bitset against the
+ * per-point {@code int[][]} lookup it replaced, which is kept here as the baseline.
+ *
+ * Three query sets are run: hitboxes scattered over level 5, a hitbox walking along its
+ * floor, and hitboxes scattered over a 100000-column random level (where the tile array
+ * no longer fits in cache). Every query is first checked to give the same answer both
+ * ways; then each set is timed several times and the last rounds are printed.
+ *
+ * Usage: {@code java util.CollisionBench [queries per round]}, default 20 million.
+ */
+public final class CollisionBench {
+    private static final float BOX_WIDTH = 30, BOX_HEIGHT = 60;
+    private static final int ROUNDS = 10, PRINTED = 3;
+    private static final int WIDE = 100_000;
+
+    private CollisionBench() { }
+
+    public static void main(String[] args) {
+        int queries = args.length > 0 ? Integer.parseInt(args[0]) : 20_000_000;
+        SplittableRandom rng = new SplittableRandom(1);
+        int T = Game.TILES_SIZE;
+
+        int[][] level5 = LevelFactory.level5();
+        SolidGrid grid5 = new Level(level5).getSolidGrid();
+        float[] xs = new float[4096], ys = new float[4096];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = (float) rng.nextDouble(-T, level5[0].length * T);
+            ys[i] = (float) rng.nextDouble(-20, (level5.length + 1) * T);
+        }
+        run("level 5, scattered", xs, ys, level5, grid5, queries);
+
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = i * 0.8f;
+            ys[i] = (level5.length - 2) * T - BOX_HEIGHT - 1;
+        }
+        run("level 5, walking", xs, ys, level5, grid5, queries);
+
+        int[][] wide = new int[Game.TILES_HEIGHT][WIDE];
+        for (int y = 0; y < wide.length; y++) {
+            for (int x = 0; x < WIDE; x++) {
+                wide[y][x] = y == wide.length - 1 || rng.nextInt(6) == 0 ? LevelFactory.GROUND : LevelFactory.AIR;
+            }
+        }
+        xs = new float[1 << 20];
+        ys = new float[1 << 20];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = (float) rng.nextDouble(0, WIDE * T);
+            ys[i] = (float) rng.nextDouble(-20, wide.length * T);
+        }
+        run(WIDE + " columns, scattered", xs, ys, wide, new Level(wide).getSolidGrid(), queries);
+    }
+
+    private static void run(String name, float[] xs, float[] ys, int[][] tiles, SolidGrid grid, int queries) {
+        for (int i = 0; i < xs.length; i++) {
+            if (canMoveHere(xs[i], ys[i], tiles) != Helpmethods.CanMoveHere(xs[i], ys[i], BOX_WIDTH, BOX_HEIGHT, grid)) {
+                throw new IllegalStateException(name + ": answers differ at " + xs[i] + "," + ys[i]);
+            }
+        }
+        int passes = Math.max(1, queries / xs.length);
+        double n = (double) passes * xs.length;
+        for (int round = 0; round < ROUNDS; round++) {
+            long t0 = System.nanoTime();
+            int before = 0;
+            for (int k = 0; k < passes; k++) before += passArray(xs, ys, tiles);
+            long t1 = System.nanoTime();
+            int after = 0;
+            for (int k = 0; k < passes; k++) after += passGrid(xs, ys, grid);
+            long t2 = System.nanoTime();
+            if (before != after) throw new IllegalStateException(name + ": free counts differ");
+            if (round >= ROUNDS - PRINTED) {
+                System.out.printf(Locale.ROOT, "%-24s int[][] %6.2f ns/query, bitset %6.2f ns/query, %.1fx%n",
+                        name, (t1 - t0) / n, (t2 - t1) / n, (double) (t1 - t0) / (t2 - t1));
+            }
+        }
+    }
+
+    private static int passArray(float[] xs, float[] ys, int[][] tiles) {
+        int free = 0;
+        for (int i = 0; i < xs.length; i++) if (canMoveHere(xs[i], ys[i], tiles)) free++;
+        return free;
+    }
+
+    private static int passGrid(float[] xs, float[] ys, SolidGrid grid) {
+        int free = 0;
+        for (int i = 0; i < xs.length; i++) if (Helpmethods.CanMoveHere(xs[i], ys[i], BOX_WIDTH, BOX_HEIGHT, grid)) free++;
+        return free;
+    }
+
+    // The original check: six probe points, each looked up in the tile array on its own
+    private static boolean canMoveHere(float x, float y, int[][] tiles) {
+        float w = BOX_WIDTH, h = BOX_HEIGHT;
+        return !isSolid(x, y, tiles) && !isSolid(x + w, y + h, tiles) && !isSolid(x + w, y, tiles)
+                && !isSolid(x, y + h, tiles) && !isSolid(x, y + h / 2, tiles) && !isSolid(x + w, y + h / 2, tiles);
+    }
+
+    private static boolean isSolid(float x, float y, int[][] tiles) {
+        if (x < 0 || y < 0) return true;
+        if (y >= Game.GAME_HEIGHT) return false;
+        float xIndex = x / Game.TILES_SIZE;
+        float yIndex = y / Game.TILES_SIZE;
+        if (yIndex >= tiles.length) return false;
+        if (xIndex >= tiles[0].length) return true;
+        return tiles[(int) yIndex][(int) xIndex] != LevelFactory.AIR;
+    }
+}
@@ -0,0 +1,64 @@
+package util;
+
+import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
+
+/**
+ * Runs every gameplay contact test once per tick and writes the results into one
+ * {@link ContactBuffer}.
+ *
+ * A registration pairs a probe (the player's body or attack box) with a collidable and
+ * an event type. Collidables use their own broad-phase to emit events, so adding a new
+ * kind of pickup or hazard is a single {@link #register} call rather than another pass
+ * in Playing.update(). Events come out in registration order.
+ */
+public class CollisionStage {
+
+    /**
+     * Something the probes can touch. Implementations add one event of the given type per
+     * overlapping item; they must not change game state, that is left to the consumer.
+     */
+    public interface Collidable {
+        void collectContacts(Rectangle2D.Float probe, int type, ContactBuffer out);
+    }
+
+    private final Rectangle2D.Float[] probes;
+    private final ContactBuffer buffer = new ContactBuffer(64);
+
+    private int count = 0;
+    private int[] probeOf = new int[8];
+    private int[] typeOf = new int[8];
+    private Collidable[] sources = new Collidable[8];
+
+    public CollisionStage(int probeCount) {
+        probes = new Rectangle2D.Float[probeCount];
+    }
+
+    public void register(int probe, int type, Collidable source) {
+        if (count == sources.length) {
+            probeOf = Arrays.copyOf(probeOf, count * 2);
+            typeOf = Arrays.copyOf(typeOf, count * 2);
+            sources = Arrays.copyOf(sources, count * 2);
+        }
+        probeOf[count] = probe;
+        typeOf[count] = type;
+        sources[count] = source;
+        count++;
+    }
+
+    /** Sets the rectangle for a probe this tick; null disables every registration using it. */
+    public void setProbe(int probe, Rectangle2D.Float rect) {
+        probes[probe] = rect;
+    }
+
+    public ContactBuffer run() {
+        buffer.clear();
+        for (int i = 0; i < count; i++) {
+            Rectangle2D.Float probe = probes[probeOf[i]];
+            if (probe != null) {
+                sources[i].collectContacts(probe, typeOf[i], buffer);
+            }
+        }
+        return buffer;
+    }
+}
@@ -62,5 +62,29 @@ public class Constants {
         public static final int JUMP_MIRROR = 12;
         public static final int FALL = 6;
         public static final int FALL_MIRROR = 13;
+
+        // Movement physics, per tick in pixels; shared with util.PlayerStepper
+        public static final float RUN_SPEED = FixedPoint.snap(Game.SCALE);
+        public static final float GRAVITY = FixedPoint.snap(0.04f * Game.SCALE);
+        public static final float JUMP_SPEED = FixedPoint.snap(-2.5f * Game.SCALE); // Reduced by ~10% for lower jumps (was -2.8f)
+        public static final int MAX_JUMPS = 2; // Double jump
+        public static final int HITBOX_WIDTH = (int) (20 * Game.SCALE);
+        public static final int HITBOX_HEIGHT = (int) (40 * Game.SCALE);
+    }
+    public static class Contacts{
+        // Probes
+        public static final int PROBE_PLAYER = 0;
+        public static final int PROBE_ATTACK = 1;
+        public static final int PROBE_COUNT = 2;
+
+        // Event types
+        public static final int ENEMY_BODY = 0;
+        public static final int ENEMY_PROJECTILE = 1;
+        public static final int BOSS_PROJECTILE = 2;
+        public static final int SPIKE = 3;
+        public static final int ATTACK_ENEMY = 4;
+        public static final int ATTACK_BOSS = 5;
+        public static final int COIN = 6;
+        public static final int HEART = 7;
     }
-}
\ No newline at end of file
+}
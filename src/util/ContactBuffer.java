@@ -0,0 +1,46 @@
+package util;
+
+import java.util.Arrays;
+
+/**
+ * Preallocated list of contact events produced by {@link CollisionStage}.
+ * Each event is a (type, index) pair: the type says which registration produced it
+ * (see {@link Constants.Contacts}) and the index points into that collidable's own list.
+ */
+public class ContactBuffer {
+    private int[] types;
+    private int[] indices;
+    private int size = 0;
+
+    public ContactBuffer(int capacity) {
+        types = new int[capacity];
+        indices = new int[capacity];
+    }
+
+    public void add(int type, int index) {
+        if (size == types.length) {
+            // Rare: only grows past the largest contact count seen so far
+            types = Arrays.copyOf(types, size * 2);
+            indices = Arrays.copyOf(indices, size * 2);
+        }
+        types[size] = type;
+        indices[size] = index;
+        size++;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int type(int i) {
+        return types[i];
+    }
+
+    public int index(int i) {
+        return indices[i];
+    }
+}
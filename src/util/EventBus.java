@@ -0,0 +1,79 @@
+package util;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Preallocated single-producer ring buffer of (type, arg) int pairs with any number of
+ * consumers, each reading at its own pace.
+ *
+ * The producer (the simulation thread) never waits: if the slowest consumer is a full
+ * ring behind, the new event is dropped and counted instead. Consumers drain from their
+ * own thread or once per tick; each sees every event that was not dropped, in order.
+ */
+public class EventBus {
+    /** Receives drained events. */
+    public interface Handler {
+        void onEvent(int type, int arg);
+    }
+
+    private final long[] slots;
+    private final int mask;
+    // Number of events written so far; slots below it are readable
+    private final AtomicLong published = new AtomicLong();
+    private volatile AtomicLong[] cursors = new AtomicLong[0];
+    private long dropped = 0;
+
+    /** @param capacity rounded up to a power of two */
+    public EventBus(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        slots = new long[size];
+        mask = size - 1;
+    }
+
+    /**
+     * Registers a consumer that sees every event published from now on and returns its id.
+     * Meant to be called during setup.
+     */
+    public synchronized int addConsumer() {
+        AtomicLong[] next = Arrays.copyOf(cursors, cursors.length + 1);
+        next[cursors.length] = new AtomicLong(published.get());
+        cursors = next;
+        return cursors.length - 1;
+    }
+
+    /** Publishes an event. Must only be called from the producer thread. Returns false if dropped. */
+    public boolean publish(int type, int arg) {
+        long seq = published.get();
+        AtomicLong[] cs = cursors;
+        for (AtomicLong c : cs) {
+            if (seq - c.get() >= slots.length) {
+                dropped++;
+                return false;
+            }
+        }
+        slots[(int) seq & mask] = ((long) type << 32) | (arg & 0xffffffffL);
+        // Release the slot write before consumers can see the new count
+        published.lazySet(seq + 1);
+        return true;
+    }
+
+    /** Hands every pending event for this consumer to the handler and returns how many there were. */
+    public int drain(int consumer, Handler handler) {
+        AtomicLong cursor = cursors[consumer];
+        long from = cursor.get();
+        long to = published.get();
+        for (long seq = from; seq < to; seq++) {
+            long e = slots[(int) seq & mask];
+            handler.onEvent((int) (e >>> 32), (int) e);
+        }
+        // Let the producer reuse the slots we've read
+        cursor.lazySet(to);
+        return (int) (to - from);
+    }
+
+    /** Events dropped because a consumer fell a full ring behind. Producer thread only. */
+    public long getDropped() {
+        return dropped;
+    }
+}
@@ -0,0 +1,35 @@
+package util;
+
+/**
+ * Optional fixed-point physics mode.
+ *
+ * When enabled (run with {@code -Dphysics.fixed=true}) every entity snaps its position
+ * and velocity to a 1/{@link #ONE} pixel lattice at the end of each physics step. Each
+ * value is then an integer count of sub-pixels held exactly in a float. Sums of such
+ * values stay exact, so the only rounding left is the explicit snap after a multiply,
+ * divide or square root. The same inputs therefore give the same sub-pixel state on any
+ * machine, which {@link StateHash} can check tick by tick.
+ *
+ * When disabled {@link #snap(float)} returns its argument and the physics is unchanged.
+ */
+public class FixedPoint {
+    public static final boolean ENABLED = Boolean.getBoolean("physics.fixed");
+
+    /** Sub-pixels per pixel. Keeps positions exact up to 2^15 pixels (over 600 tiles). */
+    public static final int SHIFT = 8;
+    public static final int ONE = 1 << SHIFT;
+
+    public static int toFixed(float v) {
+        return Math.round(v * ONE);
+    }
+
+    public static float toFloat(int fixed) {
+        return (float) fixed / ONE;
+    }
+
+    /** Rounds a value to the sub-pixel lattice when fixed-point mode is on. */
+    public static float snap(float v) {
+        if (!ENABLED) return v;
+        return toFloat(toFixed(v));
+    }
+}
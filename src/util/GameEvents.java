@@ -0,0 +1,81 @@
+package util;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Gameplay event bus. Entities and managers publish what happened (a jump, a hit, a
+ * pickup) instead of calling {@link SoundManager} inline, so the simulation thread never
+ * touches the audio driver. Sound effects are played by a daemon thread that drains the
+ * bus; stats are drained once per tick by {@link GameStats}.
+ *
+ * {@link #publish} must only be called from the game loop thread.
+ */
+public class GameEvents {
+    public enum Type {
+        PLAYER_JUMP(SoundManager.SoundEffect.PLAYER_JUMP),
+        PLAYER_ATTACK(SoundManager.SoundEffect.PLAYER_ATTACK),
+        PLAYER_DAMAGE(SoundManager.SoundEffect.PLAYER_DAMAGE),
+        PLAYER_DEATH(SoundManager.SoundEffect.PLAYER_DEATH),
+        ENEMY_DAMAGE(SoundManager.SoundEffect.ENEMY_DAMAGE),
+        ENEMY_DEATH(SoundManager.SoundEffect.ENEMY_DEATH),
+        COIN_COLLECT(SoundManager.SoundEffect.COIN_COLLECT),
+        // Reuses the coin sound
+        HEART_COLLECT(SoundManager.SoundEffect.COIN_COLLECT),
+        BOSS_ATTACK(SoundManager.SoundEffect.BOSS_ATTACK),
+        BOSS_DAMAGE(SoundManager.SoundEffect.BOSS_DAMAGE),
+        BOSS_DEATH(SoundManager.SoundEffect.BOSS_DEATH);
+
+        private final SoundManager.SoundEffect sound;
+
+        Type(SoundManager.SoundEffect sound) {
+            this.sound = sound;
+        }
+
+        public SoundManager.SoundEffect getSound() {
+            return sound;
+        }
+    }
+
+    private static final Type[] TYPES = Type.values();
+    private static final int CAPACITY = 1024;
+    /** How long the audio thread sleeps when the bus is empty. */
+    private static final long AUDIO_POLL_NANOS = 2_000_000L;
+
+    private static final EventBus bus = new EventBus(CAPACITY);
+    private static Thread audioThread = null;
+
+    public static void publish(Type type) {
+        publish(type, 0);
+    }
+
+    public static void publish(Type type, int arg) {
+        bus.publish(type.ordinal(), arg);
+    }
+
+    public static Type type(int ordinal) {
+        return TYPES[ordinal];
+    }
+
+    public static EventBus getBus() {
+        return bus;
+    }
+
+    /**
+     * Starts the daemon thread that turns events into sound effects. Call once after
+     * {@link SoundManager#init()}.
+     */
+    public static synchronized void startAudio() {
+        if (audioThread != null) return;
+        int consumer = bus.addConsumer();
+        EventBus.Handler playSound = (type, arg) -> SoundManager.play(TYPES[type].getSound());
+        audioThread = new Thread(() -> {
+            while (true) {
+                if (bus.drain(consumer, playSound) == 0) {
+                    LockSupport.parkNanos(AUDIO_POLL_NANOS);
+                }
+            }
+        }, "audio-events");
+        audioThread.setDaemon(true);
+        audioThread.start();
+    }
+}
@@ -0,0 +1,45 @@
+package util;
+
+import java.util.SplittableRandom;
+
+/**
+ * Seeded random number service for one simulation.
+ *
+ * Each subsystem draws from its own {@link SplittableRandom} stream, split off the root
+ * seed in a fixed order, so runs with the same seed and inputs are reproducible and
+ * subsystems never share (or contend on) a generator. A stream must only be used from
+ * one thread; split it again for another thread.
+ *
+ * The seed comes from {@code -Dgame.seed=<long>} when set, otherwise from the clock.
+ */
+public class GameRandom {
+    public enum Stream {
+        ENEMIES,
+        BOSS,
+        PICKUPS,
+        UI
+    }
+
+    private final long seed;
+    private final SplittableRandom[] streams = new SplittableRandom[Stream.values().length];
+
+    public GameRandom() {
+        this(Long.getLong("game.seed", System.nanoTime()));
+    }
+
+    public GameRandom(long seed) {
+        this.seed = seed;
+        SplittableRandom root = new SplittableRandom(seed);
+        for (Stream s : Stream.values()) {
+            streams[s.ordinal()] = root.split();
+        }
+    }
+
+    public SplittableRandom stream(Stream stream) {
+        return streams[stream.ordinal()];
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+}
@@ -0,0 +1,25 @@
+package util;
+
+import java.util.Arrays;
+
+/**
+ * Per-run event counters (jumps, kills, pickups, hits taken), fed from {@link GameEvents}.
+ * Drained on the game loop thread once per tick.
+ */
+public class GameStats {
+    private final int consumer = GameEvents.getBus().addConsumer();
+    private final int[] counts = new int[GameEvents.Type.values().length];
+    private final EventBus.Handler counter = (type, arg) -> counts[type]++;
+
+    public void drain() {
+        GameEvents.getBus().drain(consumer, counter);
+    }
+
+    public int count(GameEvents.Type type) {
+        return counts[type.ordinal()];
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+    }
+}
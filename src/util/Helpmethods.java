@@ -1,62 +1,55 @@
 package util;
 
 import Main.Game;
+import levels.SolidGrid;
 
 import java.awt.*;
 import java.awt.geom.Rectangle2D;
 
 public class Helpmethods {
-    public static boolean CanMoveHere(float x,float y, float width, float height, int[][] levelData){
-     if(!isSolid(x,y,levelData))
-        if(!isSolid(x+width,y+height,levelData))
-            if(!isSolid(x+width,y,levelData))
-                if(!isSolid(x,y+height,levelData))
-                    if(!isSolid(x,(y+(height/2)),levelData))
-                        if(!isSolid(x+width,(y+(height/2)),levelData))
-                                 return true;
+    public static boolean CanMoveHere(float x,float y, float width, float height, SolidGrid grid){
+        // The level is closed to the left and top
+        if (x < 0 || y < 0)
+            return false;
 
- return false;
+        // Same six probe points as before (corners and side midpoints), converted to tiles once.
+        // Rows past the bottom of the grid read as air, so no GAME_HEIGHT check is needed.
+        int left = (int) x / Game.TILES_SIZE;
+        int right = (int) (x + width) / Game.TILES_SIZE;
+        int top = (int) y / Game.TILES_SIZE;
+        int middle = (int) (y + (height / 2)) / Game.TILES_SIZE;
+        int bottom = (int) (y + height) / Game.TILES_SIZE;
 
+        return !grid.anySolid(left, right, top, middle, bottom);
     }
-    private static boolean isSolid(float x, float y, int[][] levelData){
+
+    private static boolean isSolid(float x, float y, SolidGrid grid){
         if(x < 0)
             return true;
         if (y < 0)
             return true;
-        if (y >= Game.GAME_HEIGHT)
-            return false;
-
-        float xIndex = x / Game.TILES_SIZE;
-        float yIndex = y / Game.TILES_SIZE;
-        
-        // Check array bounds using actual level data dimensions
-        if (yIndex >= levelData.length)
-            return false;
-        if (xIndex >= levelData[0].length)
-            return true;
-        
-        int value = levelData[(int) yIndex][(int) xIndex];
 
-        return value != 11;
+        // x and y are non-negative here, so integer division floors correctly
+        return grid.isSolid((int) x / Game.TILES_SIZE, (int) y / Game.TILES_SIZE);
     }
 
-    public static float XPosNextToWall(Rectangle2D.Float hitBox, float xSpeed){
-        int currentTile = (int)(hitBox.x/Game.TILES_SIZE);
-        if(xSpeed > 0){
-            int tileXPos = currentTile * Game.TILES_SIZE;
-            int offsetX = (int)(Game.TILES_SIZE - hitBox.width);
-            return tileXPos + (offsetX-1);
-        }else{
-            return currentTile *Game.TILES_SIZE;
-        }
-    }
-
-    public static boolean IsOnFloor(Rectangle2D.Float hitBox, int[][] levelData){
-          if(!isSolid(hitBox.x, hitBox.y+hitBox.height+1, levelData )){
-              if(!isSolid(hitBox.x+hitBox.width, hitBox.y+hitBox.height+1, levelData)){
+    public static boolean IsOnFloor(Rectangle2D.Float hitBox, SolidGrid grid){
+          float feet = hitBox.y + hitBox.height;
+          if(!isFloor(hitBox.x, feet, grid)){
+              if(!isFloor(hitBox.x+hitBox.width, feet, grid)){
                   return false;
               }
           }
           return true;
     }
+
+    // Solid just below the feet, or the top of a one-way tile the feet rest on
+    private static boolean isFloor(float x, float feet, SolidGrid grid){
+        float y = feet + 1;
+        if(isSolid(x, y, grid))
+            return true;
+        int tileY = (int) y / Game.TILES_SIZE;
+        return grid.hasOneWay() && grid.isOneWay((int) x / Game.TILES_SIZE, tileY)
+                && feet <= tileY * Game.TILES_SIZE;
+    }
 }
@@ -0,0 +1,302 @@
+package util;
+
+import Main.Game;
+import levels.Level;
+import levels.LevelFile;
+import levels.SurfaceMap;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import static util.Constants.PlayerConstants.*;
+
+/**
+ * Offline solvability and difficulty report for a level.
+ *
+ * Explores every state the player can reach from the level start. A state is the hitbox
+ * position in quarter tiles, the vertical speed in {@link #SPEED_STEP} buckets, the jumps
+ * used and whether the player is in the air. From each state six moves are tried: hold
+ * left, right or nothing for {@link #MOVE_TICKS} ticks, with or without a jump on the
+ * first tick. Moves are played through a {@link PlayerStepper}, so the physics is the
+ * player's own.
+ *
+ * The search is a 0-1 BFS on jumps: all states reachable without another jump are
+ * expanded before any state that needs one, so the first time the exit is reached gives
+ * the minimum number of jumps. Each frontier is expanded in parallel. The resulting moves
+ * are then deduplicated in frontier order against a bitset of visited states, so the
+ * report doesn't depend on thread timing. The bitset costs about 4 MB per 1000 columns.
+ *
+ * A pit is a run of columns with no ground at all. Its risk is the share of the moves
+ * passing over it that end with the player falling in.
+ *
+ * Usage: {@code java util.LevelAnalyzer <1-6 | level file>...}
+ */
+public final class LevelAnalyzer {
+    static final int MOVE_TICKS = 8;
+    static final int CELLS_PER_TILE = 4;
+    static final float SPEED_STEP = 0.5f;
+    private static final float MIN_SPEED = -4f;
+    private static final int SPEED_BUCKETS = 25; // MIN_SPEED up to +8 px/tick, faster falls share the last
+    // Starting point of every level (Playing.setPlayerLeftStart)
+    private static final float START_X = (int) (32 * Game.SCALE);
+    private static final float START_Y = (int) (100 * Game.SCALE);
+
+    private static final int MOVED = 0, EXIT = 1, FELL = 2;
+
+    /** What the analysis found. */
+    public static class Report {
+        public boolean exitReachable;
+        /** Fewest jumps on a path to the exit, or -1 when it can't be reached. */
+        public int minJumps = -1;
+        public long states;
+        /** Rightmost column the player can get to. */
+        public int farthestColumn;
+        public final List<Pit> pits = new ArrayList<>();
+        public double millis;
+    }
+
+    /** Columns {@code from..to} without ground, and how often moves over them fall in. */
+    public static class Pit {
+        public final int from, to;
+        public long crossings, falls;
+
+        Pit(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        public double risk() {
+            long moves = crossings + falls;
+            return moves == 0 ? 0 : (double) falls / moves;
+        }
+    }
+
+    // A reachable state; the first exact player state found for its bucket
+    private static final class State {
+        final float x, y, airSpeed;
+        final int jumpsDone;
+        final boolean inAir;
+
+        State(PlayerStepper p) {
+            x = p.hitBox.x;
+            y = p.hitBox.y;
+            airSpeed = p.airSpeed;
+            jumpsDone = p.jumpsDone;
+            inAir = p.inAir;
+        }
+
+        void load(PlayerStepper p) {
+            p.hitBox.x = x;
+            p.hitBox.y = y;
+            p.airSpeed = airSpeed;
+            p.jumpsDone = jumpsDone;
+            p.inAir = inAir;
+        }
+    }
+
+    // Outcome of one move from a state
+    private static final class Move {
+        final State to;
+        final int result;
+        final boolean jumped;
+        // Pits the move passed over (-1 for none) and the column it fell at
+        final int firstPit, lastPit, column;
+
+        Move(State to, int result, boolean jumped, int firstPit, int lastPit, int column) {
+            this.to = to;
+            this.result = result;
+            this.jumped = jumped;
+            this.firstPit = firstPit;
+            this.lastPit = lastPit;
+            this.column = column;
+        }
+    }
+
+    private final int width, height;
+    private final float exitX, bottom;
+    private final int xCells, yCells;
+    private final long[] visited;
+    // Pit index per column, -1 over ground
+    private final int[] pitAt;
+    private final List<Pit> pits = new ArrayList<>();
+    private final ThreadLocal<PlayerStepper> steppers;
+
+    private LevelAnalyzer(Level level) {
+        this.width = level.getLevelWidth();
+        this.height = Game.TILES_HEIGHT;
+        this.exitX = width * Game.TILES_SIZE - Game.TILES_SIZE / 4f;
+        this.bottom = height * Game.TILES_SIZE;
+        this.xCells = width * CELLS_PER_TILE + 1;
+        this.yCells = height * CELLS_PER_TILE + 1;
+        long bits = (long) xCells * yCells * SPEED_BUCKETS * (MAX_JUMPS + 1) * 2;
+        this.visited = new long[(int) ((bits + 63) >>> 6)];
+        this.steppers = ThreadLocal.withInitial(() -> new PlayerStepper(level.getSolidGrid()));
+
+        SurfaceMap surfaces = level.getSurfaceMap();
+        this.pitAt = new int[width];
+        for (int x = 0; x < width; x++) {
+            if (surfaces.topSurface(x) != SurfaceMap.NONE) {
+                pitAt[x] = -1;
+            } else if (x > 0 && pitAt[x - 1] >= 0) {
+                pitAt[x] = pitAt[x - 1];
+            } else {
+                pitAt[x] = pits.size();
+                pits.add(null);
+            }
+        }
+        for (int i = 0, x = 0; x < width; x++) {
+            if (pitAt[x] != i) continue;
+            int end = x;
+            while (end + 1 < width && pitAt[end + 1] == i) end++;
+            pits.set(i++, new Pit(x, end));
+        }
+    }
+
+    public static Report analyze(Level level) {
+        return new LevelAnalyzer(level).run();
+    }
+
+    private Report run() {
+        long start = System.nanoTime();
+        Report report = new Report();
+        report.pits.addAll(pits);
+
+        PlayerStepper p = steppers.get();
+        p.place(START_X, START_Y);
+        List<State> pending = new ArrayList<>();
+        pending.add(new State(p));
+
+        // Round j holds the states first reached with j jumps
+        for (int jumps = 0; !pending.isEmpty(); jumps++) {
+            List<State> frontier = new ArrayList<>();
+            for (State s : pending) {
+                if (visit(s)) frontier.add(s);
+            }
+            List<State> nextRound = new ArrayList<>();
+            while (!frontier.isEmpty()) {
+                report.states += frontier.size();
+                // Simulation is the expensive part; collect() keeps frontier order
+                List<Move> moves = frontier.parallelStream()
+                        .flatMap(s -> expand(s).stream())
+                        .collect(Collectors.toList());
+
+                List<State> next = new ArrayList<>();
+                for (Move m : moves) {
+                    count(m);
+                    // A jump in this round can reach the exit before a plain move does
+                    int cost = jumps + (m.jumped ? 1 : 0);
+                    if (m.result == EXIT && (!report.exitReachable || cost < report.minJumps)) {
+                        report.exitReachable = true;
+                        report.minJumps = cost;
+                    }
+                    if (m.result != MOVED) continue;
+                    report.farthestColumn = Math.max(report.farthestColumn, column(m.to.x));
+                    if (m.jumped) nextRound.add(m.to);
+                    else if (visit(m.to)) next.add(m.to);
+                }
+                frontier = next;
+            }
+            pending = nextRound;
+        }
+        report.millis = (System.nanoTime() - start) / 1e6;
+        return report;
+    }
+
+    private List<Move> expand(State s) {
+        PlayerStepper p = steppers.get();
+        List<Move> out = new ArrayList<>(6);
+        for (int dir = -1; dir <= 1; dir++) {
+            for (int j = 0; j <= 1; j++) {
+                boolean jump = j == 1;
+                if (jump && s.jumpsDone >= MAX_JUMPS) continue;
+                if (!jump && dir == 0 && !s.inAir) continue; // standing still
+                s.load(p);
+                out.add(play(p, dir, jump));
+            }
+        }
+        return out;
+    }
+
+    private Move play(PlayerStepper p, int dir, boolean jump) {
+        int firstPit = -1, lastPit = -1;
+        for (int t = 0; t < MOVE_TICKS; t++) {
+            p.step(dir < 0, dir > 0, jump && t == 0);
+            int col = p.tileX();
+            int pit = col >= 0 && col < width ? pitAt[col] : -1;
+            if (pit >= 0) {
+                if (firstPit < 0) firstPit = pit;
+                lastPit = pit;
+            }
+            if (p.hitBox.x + p.hitBox.width >= exitX) return new Move(null, EXIT, jump, firstPit, lastPit, col);
+            if (p.hitBox.y > bottom) return new Move(null, FELL, jump, firstPit, lastPit, col);
+        }
+        return new Move(new State(p), MOVED, jump, firstPit, lastPit, p.tileX());
+    }
+
+    private void count(Move m) {
+        if (m.firstPit < 0) return;
+        for (int i = m.firstPit; i <= m.lastPit; i++) {
+            if (m.result == FELL && pitAt[clampColumn(m.column)] == i) pits.get(i).falls++;
+            else pits.get(i).crossings++;
+        }
+    }
+
+    // Marks the state's bucket; false if it was already taken
+    private boolean visit(State s) {
+        int xc = Math.min(xCells - 1, Math.max(0, (int) (s.x * CELLS_PER_TILE / Game.TILES_SIZE)));
+        int yc = Math.min(yCells - 1, Math.max(0, (int) (s.y * CELLS_PER_TILE / Game.TILES_SIZE)));
+        int vb = Math.min(SPEED_BUCKETS - 1, Math.max(0, (int) ((s.airSpeed - MIN_SPEED) / SPEED_STEP)));
+        long key = ((((long) xc * yCells + yc) * SPEED_BUCKETS + vb) * (MAX_JUMPS + 1) + s.jumpsDone) * 2
+                + (s.inAir ? 1 : 0);
+        int word = (int) (key >>> 6);
+        long bit = 1L << key;
+        if ((visited[word] & bit) != 0) return false;
+        visited[word] |= bit;
+        return true;
+    }
+
+    private int column(float x) {
+        return clampColumn((int) Math.floor((x + HITBOX_WIDTH / 2f) / Game.TILES_SIZE));
+    }
+
+    private int clampColumn(int x) {
+        return Math.max(0, Math.min(width - 1, x));
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: java util.LevelAnalyzer <1-6 | level file>...");
+            return;
+        }
+        for (String arg : args) {
+            Level level = arg.matches("\\d+") ? builtIn(Integer.parseInt(arg)) : LevelFile.load(Paths.get(arg));
+            Report r = analyze(level);
+            System.out.printf(Locale.ROOT, "%s: %d columns, %d states in %.0f ms%n", arg, level.getLevelWidth(), r.states, r.millis);
+            if (r.exitReachable) {
+                System.out.printf("  exit reachable, at least %d jump(s)%n", r.minJumps);
+            } else {
+                System.out.printf("  exit NOT reachable, farthest column %d%n", r.farthestColumn);
+            }
+            for (Pit pit : r.pits) {
+                System.out.printf(Locale.ROOT, "  pit %d-%d (%d wide): %.0f%% of %d moves over it fall in%n",
+                        pit.from, pit.to, pit.to - pit.from + 1, pit.risk() * 100, pit.crossings + pit.falls);
+            }
+        }
+    }
+
+    private static Level builtIn(int number) {
+        return new Level(switch (number) {
+            case 1 -> LevelFactory.level1();
+            case 2 -> LevelFactory.level2();
+            case 3 -> LevelFactory.level3();
+            case 4 -> LevelFactory.level4();
+            case 5 -> LevelFactory.level5();
+            case 6 -> LevelFactory.bossArena();
+            default -> throw new IllegalArgumentException("No built-in level " + number);
+        });
+    }
+}
@@ -0,0 +1,57 @@
+package util;
+
+import levels.Level;
+import levels.LevelFile;
+import levels.TileLayer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Writes the {@link LevelFactory} levels as binary {@link LevelFile}s.
+ *
+ * Usage: {@code java util.LevelConverter [outDir]} (default {@code levels}). The spawn
+ * tables hold the enemy and spike placements the managers would compute for each level,
+ * and the boss position for the arena, so the game plays the same with
+ * {@code -Dlevels.dir=<outDir>}. Each file is loaded back and compared after writing.
+ */
+public class LevelConverter {
+    public static void main(String[] args) throws IOException {
+        Path out = Paths.get(args.length > 0 ? args[0] : "levels");
+        Files.createDirectories(out);
+
+        int[][][] sources = {
+                LevelFactory.level1(), LevelFactory.level2(), LevelFactory.level3(),
+                LevelFactory.level4(), LevelFactory.level5(), LevelFactory.bossArena()
+        };
+        for (int i = 0; i < sources.length; i++) {
+            boolean arena = i == sources.length - 1;
+            Level plain = new Level(sources[i]);
+            Level level = plain.withSpawns(SpawnPlanner.plan(plain, arena));
+
+            Path file = out.resolve(LevelFile.fileName(i));
+            LevelFile.write(file, level);
+
+            long start = System.nanoTime();
+            Level loaded = LevelFile.load(file);
+            double ms = (System.nanoTime() - start) / 1e6;
+            if (!sameTiles(level, loaded)) throw new IOException(file + ": tiles differ after reload");
+            System.out.printf("%s: %dx%d, %d spawns, %d bytes, loads in %.2f ms%n", file,
+                    level.getLevelWidth(), level.getLevelHeight(), loaded.getSpawns().size(),
+                    Files.size(file), ms);
+        }
+    }
+
+    private static boolean sameTiles(Level a, Level b) {
+        if (a.getLevelWidth() != b.getLevelWidth() || a.getLevelHeight() != b.getLevelHeight()) return false;
+        TileLayer ta = a.getTiles(), tb = b.getTiles();
+        for (int y = 0; y < ta.getHeight(); y++) {
+            for (int x = 0; x < ta.getWidth(); x++) {
+                if (ta.get(x, y) != tb.get(x, y)) return false;
+            }
+        }
+        return true;
+    }
+}
@@ -295,6 +295,29 @@ public class LevelFactory {
         return l;
     }
 
+    /**
+     * Open field for stress scenes: solid floor, walls at both ends and a repeating pattern
+     * of low and high platforms, so spawns land on several surface heights.
+     */
+    public static int[][] stressField(int W) {
+        int H = Game.TILES_HEIGHT;
+        int[][] l = fill(H, W, AIR);
+        for (int x = 0; x < W; x++) {
+            l[H-1][x] = GROUND;
+            l[H-2][x] = GROUND;
+        }
+        for (int y = 0; y < H-2; y++) {
+            l[y][0] = GROUND;
+            l[y][W-1] = GROUND;
+        }
+        for (int x = 4; x < W - 4; x++) {
+            int m = x % 16;
+            if (m >= 2 && m <= 5) l[H-5][x] = PLATFORM;
+            if (m >= 9 && m <= 11) l[H-8][x] = PLATFORM;
+        }
+        return l;
+    }
+
     private static int[][] fill(int H, int W, int value) {
         int[][] a = new int[H][W];
         for (int i = 0; i < H; i++) {
@@ -0,0 +1,133 @@
+package util;
+
+import Main.Game;
+import levels.Level;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static util.LevelFactory.*;
+
+/**
+ * Builds levels from a seed and a difficulty {@link Profile}.
+ *
+ * A level is a run of ground segments whose height steps up and down, broken by pits, with
+ * floating platforms over some segments and pits. Candidates are generated in batches on
+ * the common ForkJoin pool and each one is checked with {@link LevelValidator}; the first
+ * candidate (in candidate order) the player can finish is returned. The same seed and
+ * profile therefore always give the same level, however many threads ran the batch.
+ *
+ * Usable wherever a {@link LevelFactory} array is, e.g. {@code new Level(generate(seed, p))}.
+ */
+public final class LevelGenerator {
+    /** Difficulty knobs. Gaps and rises are in tiles, chances per segment. */
+    public enum Profile {
+        EASY(50, 2, 1, 0.15, 0.35),
+        NORMAL(60, 3, 2, 0.25, 0.5),
+        HARD(70, 4, 2, 0.35, 0.6);
+
+        final int width;
+        final int maxGap;
+        final int maxRise;
+        final double pitChance;
+        final double platformChance;
+
+        Profile(int width, int maxGap, int maxRise, double pitChance, double platformChance) {
+            this.width = width;
+            this.maxGap = maxGap;
+            this.maxRise = maxRise;
+            this.pitChance = pitChance;
+            this.platformChance = platformChance;
+        }
+    }
+
+    // Flat ground at both ends: the player drops in on the left, leaves on the right
+    private static final int START_RUN = 6;
+    private static final int END_RUN = 4;
+    private static final int MAX_GROUND = 4;
+    // Column the player starts over (Playing.setPlayerLeftStart)
+    private static final int START_X = 1;
+    private static final int MAX_CANDIDATES = 4096;
+    // Seeds of successive candidates are spread by the golden-ratio increment
+    private static final long SEED_STEP = 0x9E3779B97F4A7C15L;
+
+    private LevelGenerator() { }
+
+    /**
+     * Returns the first completable candidate for {@code seed}.
+     *
+     * @throws IllegalStateException if none of {@value #MAX_CANDIDATES} candidates passes
+     */
+    public static int[][] generate(long seed, Profile profile) {
+        int batch = Math.max(1, ForkJoinPool.getCommonPoolParallelism()) * 2;
+        for (int from = 0; from < MAX_CANDIDATES; from += batch) {
+            // Parallel streams run on the common pool; findFirst keeps candidate order
+            Optional<int[][]> found = IntStream.range(from, Math.min(MAX_CANDIDATES, from + batch))
+                    .parallel()
+                    .mapToObj(i -> candidate(seed + i * SEED_STEP, profile))
+                    .filter(l -> LevelValidator.completable(new Level(l), START_X))
+                    .findFirst();
+            if (found.isPresent()) return found.get();
+        }
+        throw new IllegalStateException("No completable " + profile + " level for seed " + seed);
+    }
+
+    static int[][] candidate(long seed, Profile p) {
+        SplittableRandom rng = new SplittableRandom(seed);
+        int H = Game.TILES_HEIGHT;
+        int W = p.width;
+        int[][] l = new int[H][W];
+        for (int[] row : l) Arrays.fill(row, AIR);
+
+        int ground = 1;
+        int x = 0;
+        ground(l, 0, START_RUN, ground);
+        x += START_RUN;
+
+        while (x < W - END_RUN) {
+            if (rng.nextDouble() < p.pitChance) {
+                // Pit, sometimes bridged by a platform above the ground on either side
+                int gap = 1 + rng.nextInt(p.maxGap);
+                int end = Math.min(x + gap, W - END_RUN);
+                if (rng.nextDouble() < p.platformChance) {
+                    platform(l, x, end, ground + 2 + rng.nextInt(2));
+                }
+                x = end;
+            } else {
+                int len = 3 + rng.nextInt(6);
+                int end = Math.min(x + len, W - END_RUN);
+                ground = clamp(ground + rng.nextInt(2 * p.maxRise + 1) - p.maxRise, 1, MAX_GROUND);
+                ground(l, x, end, ground);
+                if (end - x >= 3 && rng.nextDouble() < p.platformChance) {
+                    int from = x + rng.nextInt(end - x - 2);
+                    platform(l, from, Math.min(end, from + 3 + rng.nextInt(3)), ground + 3 + rng.nextInt(2));
+                }
+                x = end;
+            }
+        }
+        ground(l, W - END_RUN, W, 1);
+        return l;
+    }
+
+    // Fills columns [from, to) with ground {@code height} tiles deep
+    private static void ground(int[][] l, int from, int to, int height) {
+        int H = l.length;
+        for (int x = from; x < to; x++) {
+            for (int y = H - height; y < H; y++) l[y][x] = GROUND;
+        }
+    }
+
+    // One row of platform tiles over columns [from, to), {@code height} tiles above the bottom
+    private static void platform(int[][] l, int from, int to, int height) {
+        int y = l.length - 1 - height;
+        if (y < 2) return;
+        for (int x = from; x < to; x++) l[y][x] = PLATFORM;
+    }
+
+    private static int clamp(int v, int min, int max) {
+        return Math.max(min, Math.min(max, v));
+    }
+}
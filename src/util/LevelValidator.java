@@ -0,0 +1,97 @@
+package util;
+
+import Main.Game;
+import levels.Level;
+
+import java.util.ArrayDeque;
+
+/**
+ * Checks that the player can get from the start of a level to its right edge.
+ *
+ * The search runs over standing spots (column, surface row). From each spot it plays a
+ * fixed set of inputs through a {@link PlayerStepper}: hold left, right or nothing, with
+ * an optional jump on the first tick and an optional second jump later, until the player
+ * lands on another spot, falls out of the level or reaches the exit. Landing positions are
+ * snapped to the middle of their column.
+ *
+ * The input set is small on purpose, so the check is conservative: a level that passes
+ * can be finished with plain held-direction jumps; a level that fails might still be
+ * possible with mid-air steering.
+ */
+public final class LevelValidator {
+    // Ticks after the start of a move at which the second jump is tried
+    private static final int[] SECOND_JUMP_TICKS = { 20, 40, 60, 80, 100 };
+    private static final int NONE = -1;
+    // A single double jump is over in well under this
+    private static final int MAX_TICKS = 600;
+
+    private LevelValidator() { }
+
+    /** Whether the right edge can be reached from the player's start on column {@code startX}. */
+    public static boolean completable(Level level, int startX) {
+        int width = level.getLevelWidth();
+        int height = Game.TILES_HEIGHT;
+        PlayerStepper player = new PlayerStepper(level.getSolidGrid());
+        PlayerStepper move = new PlayerStepper(level.getSolidGrid());
+        float exitX = width * Game.TILES_SIZE - Game.TILES_SIZE / 4f;
+
+        // Drop in from the top of the start column and see where the player comes to rest
+        player.place(startX * Game.TILES_SIZE, 0);
+        if (!settle(player, height)) return false;
+
+        boolean[] seen = new boolean[width * (height + 1)];
+        ArrayDeque<int[]> open = new ArrayDeque<>();
+        open.push(new int[] { player.tileX(), player.surfaceRow() });
+        seen[player.surfaceRow() * width + player.tileX()] = true;
+
+        while (!open.isEmpty()) {
+            int[] spot = open.pop();
+            player.stand(spot[0], spot[1]);
+            settle(player, height);
+
+            // Left first, so moves to the right end up on top of the stack
+            for (int dir = -1; dir <= 1; dir++) {
+                for (int first = NONE; first <= 0; first++) {
+                    if (dir == 0 && first == NONE) continue;
+                    for (int k = -1; k < SECOND_JUMP_TICKS.length; k++) {
+                        int second = k < 0 ? NONE : SECOND_JUMP_TICKS[k];
+                        move.copyFrom(player);
+                        int end = play(move, dir, first, second, spot[0], height, exitX);
+                        if (end == EXIT) return true;
+                        if (end == LOST) continue;
+                        int x = move.tileX(), y = move.surfaceRow();
+                        if (x < 0 || x >= width || y > height) continue;
+                        if (!seen[y * width + x]) {
+                            seen[y * width + x] = true;
+                            open.push(new int[] { x, y });
+                        }
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static final int LANDED = 0, EXIT = 1, LOST = 2;
+
+    // Plays one move; on LANDED the stepper rests on a spot other than the start column
+    private static int play(PlayerStepper p, int dir, int first, int second, int startX, int height, float exitX) {
+        int last = Math.max(first, second);
+        for (int t = 0; t < MAX_TICKS; t++) {
+            p.step(dir < 0, dir > 0, t == first || t == second);
+            if (p.hitBox.x + p.hitBox.width >= exitX) return EXIT;
+            if (p.hitBox.y > height * Game.TILES_SIZE) return LOST; // fell into a pit
+            if (!p.inAir && t > last && (p.tileX() != startX || dir == 0)) return LANDED;
+        }
+        return LOST;
+    }
+
+    // Lets the stepper fall until it stands on something; false if it falls out
+    private static boolean settle(PlayerStepper p, int height) {
+        for (int t = 0; t < MAX_TICKS && p.inAir; t++) {
+            p.step(false, false, false);
+            if (p.hitBox.y > height * Game.TILES_SIZE) return false;
+        }
+        return !p.inAir;
+    }
+}
@@ -1,9 +1,6 @@
 package util;
 
-import Main.Game;
-
 import javax.imageio.ImageIO;
-import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.io.InputStream;
@@ -64,20 +61,4 @@ public class LoadSave {
         }
         return img;
     }
-
-    public static int[][] getLevelData(){
-        int[][] levelData = new int[Game.TILES_HEIGHT][Game.TILES_WIDTH];
-        BufferedImage img = getAtlas(LEVEL_ONE_DATA);
-        for(int i =0; i< img.getHeight(); i++){
-            for(int j=0; j<img.getWidth(); j++){
-                Color color = new Color(img.getRGB(j,i));
-                int value = color.getRed();
-                if(value>=48) {
-                    value = 0;
-                }
-                levelData[i][j] = value;
-            }
-        }
-        return levelData;
-    }
 }
\ No newline at end of file
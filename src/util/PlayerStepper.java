@@ -0,0 +1,123 @@
+package util;
+
+import Main.Game;
+import levels.SolidGrid;
+
+import java.awt.geom.Rectangle2D;
+
+import static util.Constants.PlayerConstants.*;
+import static util.Helpmethods.IsOnFloor;
+
+/**
+ * The player's movement: a hitbox, vertical speed and the double-jump counter, stepped with
+ * the physics constants from {@link Constants.PlayerConstants}.
+ *
+ * {@code Player} moves through one of these wrapped around its own hitbox. Level tools use
+ * standalone ones to try inputs against a level's {@link SolidGrid} without a game running.
+ * A stepper is cheap to {@link #copyFrom copy}, so a search can branch from any state.
+ */
+public class PlayerStepper {
+    public final Rectangle2D.Float hitBox;
+    public float airSpeed;
+    public boolean inAir;
+    public int jumpsDone;
+
+    private SolidGrid grid;
+    private final TileCollider.Contact contact = new TileCollider.Contact();
+
+    public PlayerStepper(SolidGrid grid) {
+        this(new Rectangle2D.Float(0, 0, HITBOX_WIDTH, HITBOX_HEIGHT), grid);
+    }
+
+    /** A stepper that moves {@code hitBox} in place. */
+    public PlayerStepper(Rectangle2D.Float hitBox, SolidGrid grid) {
+        this.hitBox = hitBox;
+        this.grid = grid;
+    }
+
+    /** Switches to another level's grid; falls if there is no floor under the hitbox. */
+    public void setGrid(SolidGrid grid) {
+        this.grid = grid;
+        if (!IsOnFloor(hitBox, grid)) {
+            inAir = true;
+        } else {
+            jumpsDone = 0;
+        }
+    }
+
+    /** Puts the hitbox at (x, y), at rest and about to fall, the way a level start does. */
+    public void place(float x, float y) {
+        hitBox.x = x;
+        hitBox.y = y;
+        airSpeed = 0;
+        inAir = true;
+        jumpsDone = 0;
+    }
+
+    /** Stands the hitbox centred on column {@code tileX}, on the surface whose top is row {@code surfaceRow}. */
+    public void stand(int tileX, int surfaceRow) {
+        place(tileX * Game.TILES_SIZE + (Game.TILES_SIZE - HITBOX_WIDTH) / 2f,
+                surfaceRow * Game.TILES_SIZE - HITBOX_HEIGHT - 1);
+    }
+
+    public void copyFrom(PlayerStepper other) {
+        hitBox.setRect(other.hitBox);
+        airSpeed = other.airSpeed;
+        inAir = other.inAir;
+        jumpsDone = other.jumpsDone;
+    }
+
+    /**
+     * One tick with the given keys held; {@code jump} is a fresh press. Returns true if the
+     * press started a jump.
+     */
+    public boolean step(boolean left, boolean right, boolean jump) {
+        boolean jumped = jump && jumpsDone < MAX_JUMPS;
+        if (jumped) {
+            inAir = true;
+            airSpeed = JUMP_SPEED;
+            jumpsDone++;
+        }
+
+        if (!left && !right && !inAir) return jumped;
+
+        float xSpeed = 0;
+        if (left) xSpeed -= RUN_SPEED;
+        if (right) xSpeed += RUN_SPEED;
+
+        if (!inAir) {
+            if (!IsOnFloor(hitBox, grid)) {
+                inAir = true;
+            } else {
+                jumpsDone = 0;
+            }
+        }
+
+        if (inAir) airSpeed += GRAVITY;
+
+        TileCollider.moveX(hitBox, xSpeed, grid, contact);
+        if (TileCollider.moveY(hitBox, airSpeed, grid, contact)) {
+            if (airSpeed < 0) {
+                airSpeed = 0;
+            } else if (airSpeed > 0) {
+                inAir = false;
+                jumpsDone = 0;
+            }
+        }
+        if (FixedPoint.ENABLED) {
+            hitBox.x = FixedPoint.snap(hitBox.x);
+            hitBox.y = FixedPoint.snap(hitBox.y);
+        }
+        return jumped;
+    }
+
+    /** Column under the middle of the hitbox. */
+    public int tileX() {
+        return (int) Math.floor((hitBox.x + hitBox.width / 2) / Game.TILES_SIZE);
+    }
+
+    /** Row just below the hitbox: the surface it stands on when not in the air. */
+    public int surfaceRow() {
+        return (int) Math.floor((hitBox.y + hitBox.height) / Game.TILES_SIZE) + 1;
+    }
+}
@@ -0,0 +1,35 @@
+package util;
+
+/**
+ * Simulation clock: counts game ticks instead of reading the wall clock.
+ *
+ * Advanced once per {@code Playing.update()}, so gameplay timers (cooldowns, AI state
+ * durations, overlay delays) run at the same pace whether the loop is on time, lagging,
+ * fast-forwarded or headless, and stop while the game isn't being updated.
+ * {@link #millis()} converts ticks back to milliseconds so existing durations keep their
+ * meaning at the nominal tick rate.
+ */
+public class SimClock {
+    /** Nominal updates per second of the game loop. */
+    public static final int TICKS_PER_SECOND = 200;
+
+    // Written by the game loop only; volatile so input handlers on the UI thread see it
+    private static volatile long ticks = 0;
+
+    public static void advance() {
+        ticks = ticks + 1;
+    }
+
+    public static long ticks() {
+        return ticks;
+    }
+
+    /** Simulated time since start, in milliseconds. */
+    public static long millis() {
+        return ticks * 1000 / TICKS_PER_SECOND;
+    }
+
+    public static void reset() {
+        ticks = 0;
+    }
+}
@@ -0,0 +1,151 @@
+package util;
+
+import Main.Game;
+
+import java.util.Arrays;
+
+/**
+ * Uniform spatial hash for broad-phase contact queries.
+ *
+ * Cells are aligned to the tile grid ({@link #CELL_TILES} tiles per side) and hashed into
+ * a power-of-two bucket table, so the cost of a rebuild depends on the number of items,
+ * not on the width of the level. Items are identified by their insertion index, which
+ * lets a manager map results straight back onto its own list.
+ *
+ * Usage per rebuild: {@link #clear()}, {@link #insert} each item in list order, then
+ * {@link #build()}. All arrays are kept between rebuilds and only grow.
+ * A query returns candidates only; callers still run their exact overlap test.
+ */
+public class SpatialGrid {
+    public static final int CELL_TILES = 2;
+    private static final int CELL_SIZE = Game.TILES_SIZE * CELL_TILES;
+
+    // Cell span of every inserted item
+    private int itemCount = 0;
+    private int[] minCX = new int[16], maxCX = new int[16], minCY = new int[16], maxCY = new int[16];
+
+    // Buckets in counting-sort layout: items of bucket b are entries[bucketStart[b] .. bucketStart[b+1])
+    private int bucketMask = 63;
+    private int[] bucketStart = new int[65];
+    private int[] entries = new int[64];
+
+    // Query output and per-item stamps used to report each item once
+    private int[] results = new int[16];
+    private int[] stamps = new int[16];
+    private int stamp = 0;
+
+    public void clear() {
+        itemCount = 0;
+    }
+
+    /**
+     * Adds an item covering the given pixel rectangle. Its id is the number of items
+     * inserted before it since the last {@link #clear()}.
+     */
+    public int insert(float x, float y, float w, float h) {
+        if (itemCount == minCX.length) {
+            int cap = itemCount * 2;
+            minCX = Arrays.copyOf(minCX, cap);
+            maxCX = Arrays.copyOf(maxCX, cap);
+            minCY = Arrays.copyOf(minCY, cap);
+            maxCY = Arrays.copyOf(maxCY, cap);
+            stamps = Arrays.copyOf(stamps, cap);
+        }
+        int id = itemCount++;
+        minCX[id] = cell(x);
+        maxCX[id] = cell(x + w);
+        minCY[id] = cell(y);
+        maxCY[id] = cell(y + h);
+        return id;
+    }
+
+    /** Sorts the inserted items into buckets. Must be called before querying. */
+    public void build() {
+        int entryCount = 0;
+        for (int i = 0; i < itemCount; i++) {
+            entryCount += (maxCX[i] - minCX[i] + 1) * (maxCY[i] - minCY[i] + 1);
+        }
+
+        // Keep the table at least twice the entry count so buckets stay short
+        int buckets = bucketMask + 1;
+        if (buckets < entryCount * 2) {
+            buckets = Integer.highestOneBit(entryCount * 2 - 1) << 1;
+            bucketMask = buckets - 1;
+            bucketStart = new int[buckets + 1];
+        }
+        if (entries.length < entryCount) {
+            entries = new int[Math.max(entryCount, entries.length * 2)];
+        }
+
+        // Count entries per bucket, prefix-sum into start offsets, then scatter
+        Arrays.fill(bucketStart, 0);
+        for (int i = 0; i < itemCount; i++) {
+            for (int cy = minCY[i]; cy <= maxCY[i]; cy++) {
+                for (int cx = minCX[i]; cx <= maxCX[i]; cx++) {
+                    bucketStart[bucket(cx, cy) + 1]++;
+                }
+            }
+        }
+        for (int b = 0; b < buckets; b++) {
+            bucketStart[b + 1] += bucketStart[b];
+        }
+        for (int i = 0; i < itemCount; i++) {
+            for (int cy = minCY[i]; cy <= maxCY[i]; cy++) {
+                for (int cx = minCX[i]; cx <= maxCX[i]; cx++) {
+                    // bucketStart[b] is used as the write cursor and ends up at the next bucket's start
+                    entries[bucketStart[bucket(cx, cy)]++] = i;
+                }
+            }
+        }
+        // Shift the cursors back so bucketStart[b] is the start of bucket b again
+        for (int b = buckets; b > 0; b--) {
+            bucketStart[b] = bucketStart[b - 1];
+        }
+        bucketStart[0] = 0;
+    }
+
+    /**
+     * Collects the ids of items whose cells overlap the rectangle.
+     * Returns the number of results, readable through {@link #result(int)} until the next query.
+     */
+    public int query(float x, float y, float w, float h) {
+        if (itemCount == 0) return 0;
+        if (++stamp == Integer.MAX_VALUE) {
+            Arrays.fill(stamps, 0);
+            stamp = 1;
+        }
+
+        int count = 0;
+        int x0 = cell(x), x1 = cell(x + w);
+        int y0 = cell(y), y1 = cell(y + h);
+        for (int cy = y0; cy <= y1; cy++) {
+            for (int cx = x0; cx <= x1; cx++) {
+                int b = bucket(cx, cy);
+                for (int e = bucketStart[b], end = bucketStart[b + 1]; e < end; e++) {
+                    int id = entries[e];
+                    if (stamps[id] == stamp) continue;
+                    stamps[id] = stamp;
+                    if (count == results.length) results = Arrays.copyOf(results, count * 2);
+                    results[count++] = id;
+                }
+            }
+        }
+        return count;
+    }
+
+    public int result(int i) {
+        return results[i];
+    }
+
+    public int size() {
+        return itemCount;
+    }
+
+    private static int cell(float v) {
+        return (int) Math.floor(v / CELL_SIZE);
+    }
+
+    private int bucket(int cx, int cy) {
+        return ((cx * 73856093) ^ (cy * 19349663)) & bucketMask;
+    }
+}
@@ -0,0 +1,55 @@
+package util;
+
+import Entities.EnemyManager;
+import Main.Game;
+import levels.Level;
+import levels.SpawnTable;
+import levels.SpikeManager;
+import levels.SurfaceMap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Computes the spawn table the managers would otherwise work out for a level built in code:
+ * enemy and spike placements, and the boss position for the arena. Coins and hearts are
+ * random draws made again on every visit; see {@link levels.Placements}.
+ *
+ * Used by {@link LevelConverter} to write level files and by the level preloader so a
+ * level transition only copies spawn points.
+ */
+public final class SpawnPlanner {
+    private SpawnPlanner() { }
+
+    public static SpawnTable plan(Level level, boolean bossArena) {
+        SurfaceMap surfaces = level.getSurfaceMap();
+        int width = level.getLevelWidth();
+        List<int[]> rows = new ArrayList<>(); // {type, x, y, variant}
+
+        if (bossArena) {
+            // Playing.spawnBoss: centre of the arena, above the floor
+            rows.add(new int[] { SpawnTable.BOSS, width / 2, Game.TILES_HEIGHT - 2, 0 });
+        } else {
+            int[] columns = EnemyManager.spawnColumns(width);
+            for (int i = 0; i < columns.length; i++) {
+                if (columns[i] >= width) continue;
+                rows.add(new int[] { SpawnTable.ENEMY, columns[i], EnemyManager.spawnRow(surfaces, columns[i]), i % 2 });
+            }
+        }
+        for (int x : SpikeManager.spawnColumns()) {
+            int y = surfaces.topSurface(x);
+            if (y != SurfaceMap.NONE) rows.add(new int[] { SpawnTable.SPIKE, x, y, 0 });
+        }
+
+        int n = rows.size();
+        int[] type = new int[n], x = new int[n], y = new int[n], variant = new int[n];
+        for (int i = 0; i < n; i++) {
+            int[] r = rows.get(i);
+            type[i] = r[0];
+            x[i] = r[1];
+            y[i] = r[2];
+            variant[i] = r[3];
+        }
+        return SpawnTable.of(type, x, y, variant);
+    }
+}
@@ -0,0 +1,36 @@
+package util;
+
+/**
+ * Running 64-bit FNV-1a style hash over simulation state.
+ *
+ * Entities feed their positions, velocities and flags into it once per tick; two runs
+ * with identical inputs must produce the same sequence of hashes. Floats are hashed by
+ * their bit pattern, so any divergence shows up, not just visible ones.
+ */
+public class StateHash {
+    private static final long OFFSET = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+
+    private long hash = OFFSET;
+
+    public void reset() {
+        hash = OFFSET;
+    }
+
+    public StateHash add(int v) {
+        hash = (hash ^ v) * PRIME;
+        return this;
+    }
+
+    public StateHash add(float v) {
+        return add(Float.floatToIntBits(v));
+    }
+
+    public StateHash add(boolean v) {
+        return add(v ? 1 : 0);
+    }
+
+    public long get() {
+        return hash;
+    }
+}
@@ -0,0 +1,159 @@
+package util;
+
+import Main.Game;
+import levels.SolidGrid;
+
+import java.awt.geom.Rectangle2D;
+
+/**
+ * Swept-AABB collision against a level's {@link SolidGrid}.
+ *
+ * A box is treated as covering the tiles under its corners, edges included (the same
+ * tiles the old six-point probe in {@link Helpmethods#CanMoveHere} looked at). Instead of
+ * testing the destination only, the move is swept: every solid tile between the start and
+ * end position is tested and the earliest contact wins, so fast movers can't tunnel
+ * through thin platforms.
+ *
+ * Player, enemies and Boss all go through this class; the boss just passes a grid in which
+ * platforms are open. One-way tiles only stop a vertical move downwards that starts with
+ * the box's bottom at or above their top, so they can be jumped through from below.
+ */
+public class TileCollider {
+    // Gap left between a right/bottom edge and the tile it stops against, so the resting
+    // box doesn't already count as covering that tile.
+    private static final float SKIN = 0.01f;
+
+    /**
+     * Result of a sweep. Reused by the caller to avoid allocating per move.
+     */
+    public static class Contact {
+        public boolean hit;
+        /** Fraction of the move (0..1) at which the box first touches a solid tile. */
+        public float time;
+        /** Surface normal of the tile face that was hit: -1, 0 or 1 on each axis. */
+        public int normalX, normalY;
+        public int tileX, tileY;
+
+        private void clear() {
+            hit = false;
+            time = 1f;
+            normalX = 0;
+            normalY = 0;
+        }
+    }
+
+    /**
+     * Sweeps the box by (dx, dy) and reports the first solid tile it would touch.
+     * The box itself is not moved. Tiles the box already overlaps at the start are
+     * ignored so an embedded box can still move out.
+     */
+    public static boolean sweep(Rectangle2D.Float box, float dx, float dy, SolidGrid grid, Contact out) {
+        out.clear();
+        if (dx == 0 && dy == 0) return false;
+
+        int ts = Game.TILES_SIZE;
+        float right = box.x + box.width;
+        float bottom = box.y + box.height;
+
+        // Only the tiles between the start and end boxes can be crossed
+        int minTX = floorDiv(Math.min(box.x, box.x + dx));
+        int maxTX = floorDiv(Math.max(right, right + dx));
+        int minTY = floorDiv(Math.min(box.y, box.y + dy));
+        int maxTY = floorDiv(Math.max(bottom, bottom + dy));
+        boolean landing = dx == 0 && dy > 0 && grid.hasOneWay();
+
+        for (int ty = minTY; ty <= maxTY; ty++) {
+            // Entry/exit time on the y axis is the same for the whole row
+            float yEntry, yExit;
+            if (dy > 0) {
+                yEntry = (ty * ts - bottom) / dy;
+                yExit = ((ty + 1) * ts - box.y) / dy;
+            } else if (dy < 0) {
+                yEntry = ((ty + 1) * ts - box.y) / dy;
+                yExit = (ty * ts - bottom) / dy;
+            } else if (box.y < (ty + 1) * ts && bottom >= ty * ts) {
+                yEntry = Float.NEGATIVE_INFINITY;
+                yExit = Float.POSITIVE_INFINITY;
+            } else {
+                continue;
+            }
+            if (yEntry > out.time || yExit < 0) continue;
+
+            for (int tx = minTX; tx <= maxTX; tx++) {
+                if (!grid.isSolid(tx, ty)
+                        && !(landing && bottom <= ty * ts && grid.isOneWay(tx, ty))) continue;
+
+                float xEntry, xExit;
+                if (dx > 0) {
+                    xEntry = (tx * ts - right) / dx;
+                    xExit = ((tx + 1) * ts - box.x) / dx;
+                } else if (dx < 0) {
+                    xEntry = ((tx + 1) * ts - box.x) / dx;
+                    xExit = (tx * ts - right) / dx;
+                } else if (box.x < (tx + 1) * ts && right >= tx * ts) {
+                    xEntry = Float.NEGATIVE_INFINITY;
+                    xExit = Float.POSITIVE_INFINITY;
+                } else {
+                    continue;
+                }
+
+                float entry = Math.max(xEntry, yEntry);
+                float exit = Math.min(xExit, yExit);
+                // entry < 0 means the box started inside this tile
+                if (entry < 0 || entry > exit || entry > out.time) continue;
+                if (out.hit && entry == out.time) continue; // keep the first tile on ties
+
+                out.hit = true;
+                out.time = entry;
+                out.tileX = tx;
+                out.tileY = ty;
+                if (xEntry > yEntry) {
+                    out.normalX = dx > 0 ? -1 : 1;
+                    out.normalY = 0;
+                } else {
+                    out.normalX = 0;
+                    out.normalY = dy > 0 ? -1 : 1;
+                }
+            }
+        }
+        return out.hit;
+    }
+
+    /**
+     * Moves the box horizontally. On contact the box is placed flush against the tile.
+     * Returns true when a wall stopped the move.
+     */
+    public static boolean moveX(Rectangle2D.Float box, float dx, SolidGrid grid, Contact out) {
+        if (!sweep(box, dx, 0, grid, out)) {
+            box.x += dx;
+            return false;
+        }
+        if (out.normalX < 0) {
+            box.x = out.tileX * Game.TILES_SIZE - box.width - SKIN;
+        } else {
+            box.x = (out.tileX + 1) * Game.TILES_SIZE;
+        }
+        return true;
+    }
+
+    /**
+     * Moves the box vertically. On contact the box is placed flush against the floor or
+     * ceiling. Returns true when a tile stopped the move.
+     */
+    public static boolean moveY(Rectangle2D.Float box, float dy, SolidGrid grid, Contact out) {
+        if (!sweep(box, 0, dy, grid, out)) {
+            box.y += dy;
+            return false;
+        }
+        if (out.normalY < 0) {
+            box.y = out.tileY * Game.TILES_SIZE - box.height - SKIN;
+        } else {
+            box.y = (out.tileY + 1) * Game.TILES_SIZE;
+        }
+        return true;
+    }
+
+    private static int floorDiv(float v) {
+        return (int) Math.floor(v / Game.TILES_SIZE);
+    }
+}